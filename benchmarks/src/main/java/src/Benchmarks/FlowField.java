@@ -0,0 +1,100 @@
+package src.Benchmarks;
+
+import src.Maze.Direction;
+import src.Maze.GridMap;
+
+import java.util.Arrays;
+
+/**
+ * @class FlowField
+ *
+ * @brief BFS field rooted at a single tile, telling every other tile which way leads to the root.
+ *
+ * One field rooted at the player serves every chasing ghost - instead of each ghost searching its own
+ * path, the grid is traversed once and each ghost just reads the direction stored for its tile.
+ * The field is only rebuilt when the root moves.
+ *
+ * The game used this for maps too large for a DistanceTable until the HierarchicalPathfinder replaced it.
+ * It is kept here only as the baseline PathfindingBenchmark compares the hierarchical pathfinder against:
+ * every time the player changes tiles the whole map has to be traversed again.
+ */
+final class FlowField {
+
+    private final GridMap map;
+    private final int columns;
+    private final int[] distance;
+    private final byte[] direction;
+    private final int[] queue;
+
+    private int rootX = -1;
+    private int rootY = -1;
+    private int version;
+
+    /**
+     * @brief Constructs an empty field for the given map, call update() before reading it.
+     *
+     * @param map the maze
+     */
+    FlowField(GridMap map) {
+        this.map = map;
+        this.columns = map.getColumns();
+        this.distance = new int[map.getCells()];
+        this.direction = new byte[map.getCells()];
+        this.queue = new int[map.getCells()];
+    }
+
+    /**
+     * @brief Roots the field at the given tile, rebuilding it only if the root or the map has changed.
+     *
+     * @param x column of the root
+     * @param y row of the root
+     * @return whether the field had to be rebuilt
+     */
+    boolean update(int x, int y) {
+        if (x == rootX && y == rootY && version == map.getVersion()) return false;
+        rootX = x;
+        rootY = y;
+        version = map.getVersion();
+
+        Arrays.fill(distance, -1);
+        Arrays.fill(direction, (byte) Direction.NONE);
+
+        int root = y * columns + x;
+        int head = 0, tail = 0;
+        distance[root] = 0;
+        queue[tail++] = root;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int open = map.neighbourMask(current);
+            for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+                if ((open & (1 << dir)) == 0) continue;
+                int next = map.neighbour(current, dir);
+                if (distance[next] >= 0) continue;
+                distance[next] = distance[current] + 1;
+                // from the neighbour the way back to the root is the opposite direction
+                direction[next] = (byte) Direction.opposite(dir);
+                queue[tail++] = next;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @brief direction of the first step from the given tile towards the root
+     *
+     * @return one of the Direction constants, Direction.NONE if the root is unreachable or reached
+     */
+    int nextDirection(int x, int y) {
+        return direction[y * columns + x];
+    }
+
+    /**
+     * @brief length of the shortest path from the given tile to the root
+     *
+     * @return number of steps, or -1 if the root is unreachable
+     */
+    int distance(int x, int y) {
+        return distance[y * columns + x];
+    }
+}
@@ -0,0 +1,100 @@
+package src.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import src.Scores.LeaderboardFile;
+import src.Scores.LeaderboardStore;
+import src.Scores.ScoreEntry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * @class LeaderboardBenchmark
+ *
+ * @brief Cost of leaderboard reads and writes by leaderboard size, for the text store and the binary snapshot.
+ *
+ * Every trial works on fresh files in a temporary directory. A submission waits for the disk flush, so its
+ * numbers depend on the storage the temporary directory lives on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int entries;
+
+    private Path directory;
+    private LeaderboardStore store;
+    private LeaderboardFile binary;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("leaderboard-bench");
+        Path text = directory.resolve("leaderboard.txt");
+        StringBuilder lines = new StringBuilder();
+        SplittableRandom rand = new SplittableRandom(42);
+        for (int i = 0; i < entries; i++) {
+            lines.append(playerName(i)).append(": ").append(rand.nextInt(100000)).append('\n');
+        }
+        Files.write(text, lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        store = LeaderboardStore.open(text);
+        Path snapshot = directory.resolve("leaderboard.plbd");
+        LeaderboardFile.write(store.top(Integer.MAX_VALUE), snapshot);
+        binary = LeaderboardFile.open(snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        binary.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean contains() throws IOException {
+        next = (next + 1) % entries;
+        return store.contains(playerName(next));
+    }
+
+    @Benchmark
+    public List<ScoreEntry> top5() throws IOException {
+        return store.top(5);
+    }
+
+    @Benchmark
+    public void submit() throws IOException {
+        // existing players improving their score, so the log grows and gets compacted like in a long session
+        next = (next + 1) % entries;
+        store.submit(playerName(next), 100000 + next);
+    }
+
+    @Benchmark
+    public List<ScoreEntry> binaryTop5() throws IOException {
+        return binary.top(5);
+    }
+
+    @Benchmark
+    public List<ScoreEntry> binaryMiddlePage() throws IOException {
+        return binary.page(entries / 20, 10);
+    }
+
+    private static String playerName(int i) {
+        return "player" + i;
+    }
+}
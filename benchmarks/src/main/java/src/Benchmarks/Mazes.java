@@ -0,0 +1,35 @@
+package src.Benchmarks;
+
+import src.Engine.GameEngine;
+import src.Maze.GridMap;
+
+/**
+ * @class Mazes
+ *
+ * @brief Maps of any size for the benchmarks.
+ */
+final class Mazes {
+
+    private Mazes() {
+    }
+
+    /**
+     * @brief get a square maze of the given size
+     *
+     * The built-in 15x15 map for size 15, otherwise a grid of single-tile pillars - every other tile of every
+     * other row is a wall - which is fully connected and has a corridor at every crossing, like the real maze.
+     *
+     * @param size number of rows and columns
+     * @return a new map
+     */
+    static GridMap square(int size) {
+        if (size == GameEngine.MAP.length) return new GridMap(GameEngine.MAP);
+        int[][] tiles = new int[size][size];
+        for (int y = 1; y < size; y += 2) {
+            for (int x = 1; x < size; x += 2) {
+                tiles[y][x] = 1;
+            }
+        }
+        return new GridMap(tiles);
+    }
+}
@@ -0,0 +1,208 @@
+package src.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import src.Engine.GameEngine;
+import src.Entities.DijkstraGhost;
+import src.Entities.MovingEntity;
+import src.Entities.WallhuggerGhost;
+import src.Maze.DistanceTable;
+import src.Maze.GridMap;
+import src.Maze.HierarchicalPathfinder;
+import src.Maze.PathCache;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class PathfindingBenchmark
+ *
+ * @brief Cost of the ghosts' path decisions and of the structures behind them, by map size.
+ *
+ * The distance table only exists for maps up to DistanceTable.MAX_CELLS tiles, so its benchmarks use their own,
+ * smaller map sizes; larger maps use the hierarchical pathfinder, compared against rebuilding the FlowField baseline,
+ * and the PathCache in front of it. A ghost's single move is measured through update() and commitMove() with a
+ * speed of 0, which moves it on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    // number of random tile pairs looked up in turn
+    private static final int PAIRS = 4096;
+
+    @State(Scope.Thread)
+    public static class TableState {
+
+        @Param({"15", "49"})
+        public int mapSize;
+
+        GridMap map;
+        DistanceTable table;
+        int[] pairs;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            map = Mazes.square(mapSize);
+            table = new DistanceTable(map);
+            pairs = openTiles(map, PAIRS * 2);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FieldState {
+
+        @Param({"15", "200", "1000"})
+        public int mapSize;
+
+        GridMap map;
+        FlowField field;
+        int[] targets;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            map = Mazes.square(mapSize);
+            field = new FlowField(map);
+            targets = openTiles(map, PAIRS);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GhostState {
+
+        @Param({"15", "49", "200"})
+        public int mapSize;
+
+        GameEngine engine;
+        MovingEntity chaser;
+        MovingEntity wallhugger;
+        Point chaserStart;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new GameEngine(Mazes.square(mapSize));
+            chaserStart = engine.spawnPoint(mapSize - 1, mapSize - 1);
+            chaser = new DijkstraGhost("assets/ghost_green.png", 0.0f, new Point(chaserStart));
+            wallhugger = new WallhuggerGhost("assets/ghost_yellow.png", 0.0f, engine.spawnPoint(mapSize / 2, mapSize / 2));
+            chaser.attach(engine);
+            wallhugger.attach(engine);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class HierarchicalState {
+
+        @Param({"200", "1000"})
+        public int mapSize;
+
+        GridMap map;
+        HierarchicalPathfinder pathfinder;
+        PathCache cache;
+        int[] pairs;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            map = Mazes.square(mapSize);
+            pathfinder = new HierarchicalPathfinder(map, HierarchicalPathfinder.DEFAULT_CLUSTER_SIZE);
+            cache = new PathCache(map, PathCache.DEFAULT_CAPACITY);
+            pairs = openTiles(map, PAIRS * 2);
+        }
+    }
+
+    @Benchmark
+    public DistanceTable distanceTableBuild(TableState state) {
+        return new DistanceTable(state.map);
+    }
+
+    @Benchmark
+    public int distanceTableLookup(TableState state) {
+        int i = state.next;
+        state.next = (i + 2) % state.pairs.length;
+        int columns = state.map.getColumns();
+        int from = state.pairs[i];
+        int to = state.pairs[i + 1];
+        return state.table.nextDirection(from % columns, from / columns, to % columns, to / columns);
+    }
+
+    @Benchmark
+    public int flowFieldRebuild(FieldState state) {
+        // a new root every call, like a player changing tiles
+        int target = state.targets[state.next];
+        state.next = (state.next + 1) % state.targets.length;
+        int columns = state.map.getColumns();
+        state.field.update(target % columns, target / columns);
+        return state.field.distance(0, 0);
+    }
+
+    @Benchmark
+    public int hierarchicalNewGoal(HierarchicalState state) {
+        // a different goal every call - the abstract search starts from scratch
+        int i = state.next;
+        state.next = (i + 2) % state.pairs.length;
+        int columns = state.map.getColumns();
+        int from = state.pairs[i];
+        int to = state.pairs[i + 1];
+        return state.pathfinder.nextDirection(from % columns, from / columns, to % columns, to / columns);
+    }
+
+    @Benchmark
+    public int hierarchicalSameGoal(HierarchicalState state) {
+        // many ghosts chasing one player - the search towards it is resumed, or already covers the start
+        int i = state.next;
+        state.next = (i + 2) % state.pairs.length;
+        int columns = state.map.getColumns();
+        int from = state.pairs[i];
+        int to = state.pairs[1];
+        return state.pathfinder.nextDirection(from % columns, from / columns, to % columns, to / columns);
+    }
+
+    @Benchmark
+    public int cachedSameGoal(HierarchicalState state) {
+        // the same questions again and again - after the first round every one is answered by the cache
+        int i = state.next;
+        state.next = (i + 2) % state.pairs.length;
+        int columns = state.map.getColumns();
+        int from = state.pairs[i];
+        int to = state.pairs[1];
+        return state.cache.nextDirection(from % columns, from / columns, to % columns, to / columns);
+    }
+
+    @Benchmark
+    public Point dijkstraGhostMove(GhostState state) {
+        Point pos = state.chaser.getPos();
+        // once the player is caught the ghost would stand still - send it back to the far corner
+        if (pos.equals(state.engine.getPlayer().getPos())) pos.setLocation(state.chaserStart);
+        state.chaser.update();
+        state.chaser.commitMove();
+        return pos;
+    }
+
+    @Benchmark
+    public Point wallhuggerGhostMove(GhostState state) {
+        state.wallhugger.update();
+        state.wallhugger.commitMove();
+        return state.wallhugger.getPos();
+    }
+
+    /**
+     * @brief picks random open tiles of the map
+     */
+    private static int[] openTiles(GridMap map, int count) {
+        SplittableRandom rand = new SplittableRandom(42);
+        int[] tiles = new int[count];
+        for (int i = 0; i < count; i++) {
+            int cell;
+            do {
+                cell = rand.nextInt(map.getCells());
+            } while (map.isWall(cell));
+            tiles[i] = cell;
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,67 @@
+package src.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import src.Board;
+import src.Engine.GameEngine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class RenderBenchmark
+ *
+ * @brief Cost of painting the board off-screen into a BufferedImage, a whole frame or a single tile.
+ *
+ * Run headless (-Djava.awt.headless=true) or with a display; without a screen the background is cached in a
+ * BufferedImage instead of a VolatileImage. Sprites are read from assets/, so run from the repository root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    @Param({"15", "50", "200"})
+    public int mapSize;
+
+    private Board board;
+    private BufferedImage frame;
+    private Graphics2D graphics;
+    private Rectangle tile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameEngine engine = new GameEngine(Mazes.square(mapSize));
+        engine.addDefaultGhosts();
+        board = new Board(engine);
+        Dimension size = board.getPreferredSize();
+        board.setSize(size);
+        frame = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+        graphics = frame.createGraphics();
+        Point player = engine.getPlayer().getPos();
+        tile = new Rectangle(player.x * Board.TILE_SIZE, player.y * Board.TILE_SIZE, Board.TILE_SIZE, Board.TILE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage fullFrame() {
+        graphics.setClip(null);
+        board.paintComponent(graphics);
+        return frame;
+    }
+
+    @Benchmark
+    public BufferedImage singleTile() {
+        // what a typical tick repaints - one of the handful of tiles an entity left or entered
+        graphics.setClip(tile);
+        board.paintComponent(graphics);
+        return frame;
+    }
+}
@@ -0,0 +1,96 @@
+package src.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import src.Engine.GameEngine;
+import src.Engine.TickScheduler;
+import src.Entities.DijkstraGhost;
+import src.Entities.GhostStore;
+import src.Entities.MovingEntity;
+import src.Entities.RandomGhost;
+import src.Entities.WallhuggerGhost;
+import src.Maze.GridMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class TickBenchmark
+ *
+ * @brief Cost of one game tick - moving every ghost, collisions and coin pickups - by map size and ghost count.
+ *
+ * The player stands still, so the chasing ghosts eventually catch it; a caught game is replaced by a fresh
+ * one, which is cheap next to the ticks played on it since the map and its pathfinding tables are shared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickBenchmark {
+
+    @Param({"15", "50", "200"})
+    public int mapSize;
+
+    @Param({"4", "64", "1024"})
+    public int ghosts;
+
+    // "inline" moves the ghosts on the calling thread, "shared" on the engine's worker pool
+    @Param({"inline", "shared"})
+    public String scheduler;
+
+    // "objects" adds one ghost object per ghost, "store" keeps the ghosts in the engine's GhostStore
+    @Param({"objects", "store"})
+    public String layout;
+
+    private GridMap map;
+    private GameEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = Mazes.square(mapSize);
+        engine = newGame();
+    }
+
+    @Benchmark
+    public long step() {
+        if (engine.isGameOver()) engine = newGame();
+        engine.step();
+        return engine.getTickCount();
+    }
+
+    private GameEngine newGame() {
+        GameEngine game = new GameEngine(map);
+        game.setScheduler("shared".equals(scheduler) ? TickScheduler.shared() : TickScheduler.inline());
+        for (int i = 0; i < ghosts; i++) {
+            // spread the ghosts over the map, in the proportions of the default set
+            int x = (int) ((long) i * 7919 % mapSize);
+            int y = (int) ((long) i * 104729 % mapSize);
+            if ("store".equals(layout)) game.addStoredGhost(storedType(i), speed(i), game.spawnPoint(x, y));
+            else game.addGhost(ghost(i, game, x, y));
+        }
+        return game;
+    }
+
+    private static MovingEntity ghost(int i, GameEngine game, int x, int y) {
+        switch (storedType(i)) {
+            case GhostStore.DIJKSTRA:
+                return new DijkstraGhost("assets/ghost_green.png", speed(i), game.spawnPoint(x, y));
+            case GhostStore.RANDOM:
+                return new RandomGhost("assets/ghost_pink.png", speed(i), game.spawnPoint(x, y));
+            default:
+                return new WallhuggerGhost("assets/ghost_yellow.png", speed(i), game.spawnPoint(x, y));
+        }
+    }
+
+    private static byte storedType(int i) {
+        switch (i & 3) {
+            case 2: return GhostStore.DIJKSTRA;
+            case 3: return GhostStore.RANDOM;
+            default: return GhostStore.WALLHUGGER;
+        }
+    }
+
+    private static float speed(int i) {
+        return storedType(i) == GhostStore.RANDOM ? 100.0f : 200.0f;
+    }
+}
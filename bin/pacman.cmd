@@ -0,0 +1,11 @@
+@echo off
+rem Starts the game from ui\target\pacman.jar (build it with "mvn package" first).
+rem Extra JVM options can be passed through JAVA_OPTS.
+
+rem assets\ and leaderboard.txt are looked up relative to the working directory
+cd /d "%~dp0.."
+
+set JAVA=java
+if defined JAVA_HOME set JAVA="%JAVA_HOME%\bin\java"
+
+%JAVA% -XX:+UseZGC -Xms256m -Xmx256m -XX:+AlwaysPreTouch -XX:+PerfDisableSharedMem %JAVA_OPTS% -jar ui\target\pacman.jar %*
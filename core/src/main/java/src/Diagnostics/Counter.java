@@ -0,0 +1,44 @@
+package src.Diagnostics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class Counter
+ *
+ * @brief Count of events, cheap to increment from many threads at once.
+ */
+public class Counter implements CounterMXBean {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * @brief Constructs a counter at 0, use Metrics.counter() to get one that is published.
+     *
+     * @param name name it is reported under
+     */
+    public Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @brief counts one event
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * @brief counts several events
+     * @param events number of events
+     */
+    public void add(long events) {
+        count.add(events);
+    }
+
+    /** @return name the counter is reported under */
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return count.sum(); }
+}
@@ -0,0 +1,10 @@
+package src.Diagnostics;
+
+/**
+ * @brief JMX view of a Counter.
+ */
+public interface CounterMXBean {
+
+    /** @return number of events counted since the game started */
+    long getCount();
+}
@@ -0,0 +1,32 @@
+package src.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @class FrameRenderedEvent
+ *
+ * @brief Flight Recorder event spanning one paint of the game board.
+ */
+@Name("pacman.FrameRendered")
+@Label("Frame Rendered")
+@Category({"PacMan", "Rendering"})
+@Description("The board painting the area Swing asked it to repaint")
+@StackTrace(false)
+public class FrameRenderedEvent extends jdk.jfr.Event {
+
+    @Label("Clip Width")
+    @Description("Width of the painted area in pixels")
+    public int clipWidth;
+
+    @Label("Clip Height")
+    @Description("Height of the painted area in pixels")
+    public int clipHeight;
+
+    @Label("Entities Drawn")
+    @Description("Coins, ghosts and the player inside the painted area")
+    public int entitiesDrawn;
+}
@@ -0,0 +1,42 @@
+package src.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @class GhostMoveEvent
+ *
+ * @brief Flight Recorder event spanning one ghost's move decision.
+ *
+ * There is one per ghost move, so on games with many ghosts a recording may want a duration threshold on it.
+ */
+@Name("pacman.GhostMove")
+@Label("Ghost Move")
+@Category({"PacMan", "Game Loop"})
+@Description("A ghost deciding on and making its next step")
+@StackTrace(false)
+public class GhostMoveEvent extends jdk.jfr.Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("From X")
+    public int fromX;
+
+    @Label("From Y")
+    public int fromY;
+
+    @Label("To X")
+    public int toX;
+
+    @Label("To Y")
+    public int toY;
+
+    @Label("Path Length")
+    @Description("Steps left to the ghost's target after the move, an upper bound on maps too large for a "
+            + "distance table, -1 for ghosts that do not follow a path")
+    public int pathLength;
+}
@@ -0,0 +1,229 @@
+package src.Diagnostics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @class LatencyHistogram
+ *
+ * @brief Lock-free histogram of durations in nanoseconds, in the style of an HDR histogram.
+ *
+ * Values are counted in log-linear buckets: every power of two is split into SUB_BUCKETS equal buckets, so any
+ * recorded value is known to within about 3% whether it is 200 ns or 2 s, in a fixed 15 kB of counters per stripe.
+ * Recording is a couple of atomic increments, safe from any number of threads at once, and never allocates.
+ * The counters are striped like a LongAdder: each thread records into one of several copies picked by its id,
+ * so the tick workers recording moves at the same time rarely touch the same counter, and the copies are
+ * added up when a snapshot is taken.
+ * Percentiles are computed from a Snapshot, which can also be subtracted from a later one to get the
+ * distribution of a single interval.
+ */
+public class LatencyHistogram implements LatencyMXBean {
+
+    // buckets per power of two, 2^SUB_BUCKET_BITS
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    // each stripe holds the bucket counts followed by the number, sum and maximum of its values
+    private static final int TOTAL = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+    // unused longs at the end of a stripe, so its busy counters don't share a cache line with the next stripe
+    private static final int PADDING = 8;
+    // copies of the counters, a power of two - one per core, up to 16
+    private static final int STRIPES =
+            Math.min(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final String name;
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+    /**
+     * @brief Constructs an empty histogram, use Metrics.histogram() to get one that is published.
+     *
+     * @param name name it is reported under
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(MAX + 1 + PADDING);
+        }
+    }
+
+    /**
+     * @brief counts one duration
+     * @param nanos the duration, negative values count as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        AtomicLongArray stripe = stripes[stripeOf(Thread.currentThread())];
+        stripe.incrementAndGet(bucketOf(nanos));
+        stripe.incrementAndGet(TOTAL);
+        stripe.addAndGet(SUM, nanos);
+        long previous = stripe.get(MAX);
+        while (nanos > previous && !stripe.compareAndSet(MAX, previous, nanos)) {
+            previous = stripe.get(MAX);
+        }
+    }
+
+    /**
+     * @brief picks the stripe a thread records into, threads with consecutive ids get different ones
+     */
+    private static int stripeOf(Thread thread) {
+        long id = thread.getId();
+        return (int) (id ^ (id >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * @brief adds up one counter over all stripes
+     */
+    private long sumOf(int index) {
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            total += stripe.get(index);
+        }
+        return total;
+    }
+
+    /**
+     * @return the largest value recorded by any thread
+     */
+    private long maxValue() {
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return max;
+    }
+
+    /**
+     * @brief counts the time elapsed since a Metrics.now() timestamp, does nothing if metrics are disabled
+     * @param start the timestamp taken when the measured operation began
+     */
+    public void recordSince(long start) {
+        if (Metrics.ENABLED) record(System.nanoTime() - start);
+    }
+
+    /** @return name the histogram is reported under */
+    public String getName() { return name; }
+
+    /**
+     * @brief copies the current counts, threads may keep recording meanwhile
+     * @return the distribution of everything recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] += stripe.get(i);
+            }
+        }
+        return new Snapshot(copy, sumOf(TOTAL), sumOf(SUM), maxValue());
+    }
+
+    @Override
+    public long getCount() { return sumOf(TOTAL); }
+
+    @Override
+    public double getMeanMicros() { return snapshot().mean() / 1000.0; }
+
+    @Override
+    public double getP50Micros() { return snapshot().percentile(50) / 1000.0; }
+
+    @Override
+    public double getP90Micros() { return snapshot().percentile(90) / 1000.0; }
+
+    @Override
+    public double getP99Micros() { return snapshot().percentile(99) / 1000.0; }
+
+    @Override
+    public double getP999Micros() { return snapshot().percentile(99.9) / 1000.0; }
+
+    @Override
+    public double getMaxMicros() { return maxValue() / 1000.0; }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        // the top SUB_BUCKET_BITS bits below the leading one pick the sub-bucket
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * @brief largest value that falls into the bucket
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long low = ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << shift;
+        return low + (1L << shift) - 1;
+    }
+
+    /**
+     * @class Snapshot
+     *
+     * @brief Immutable copy of a histogram's counts.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long total;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long total, long sum, long max) {
+            this.counts = counts;
+            this.total = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @brief the distribution of what was recorded between an earlier snapshot and this one
+         *
+         * The maximum of the interval is only known to within a bucket.
+         *
+         * @param earlier snapshot of the same histogram taken before this one
+         * @return the difference
+         */
+        public Snapshot minus(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            int highest = -1;
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = counts[i] - earlier.counts[i];
+                if (delta[i] > 0) highest = i;
+            }
+            long deltaMax = highest < 0 ? 0 : Math.min(max, highestValueOf(highest));
+            return new Snapshot(delta, total - earlier.total, sum - earlier.sum, deltaMax);
+        }
+
+        /** @return number of recorded values */
+        public long count() { return total; }
+
+        /** @return largest recorded value in nanoseconds */
+        public long max() { return max; }
+
+        /** @return average of the recorded values in nanoseconds, 0 if there are none */
+        public double mean() {
+            return total == 0 ? 0 : (double) sum / total;
+        }
+
+        /**
+         * @brief get a percentile of the recorded values
+         * @param percent between 0 and 100
+         * @return the value in nanoseconds that this share of the recorded values does not exceed, 0 if empty
+         */
+        public long percentile(double percent) {
+            long recorded = 0;
+            for (long count : counts) {
+                recorded += count;
+            }
+            if (recorded == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * recorded));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, highestValueOf(i));
+            }
+            return max;
+        }
+    }
+}
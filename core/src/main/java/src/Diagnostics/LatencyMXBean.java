@@ -0,0 +1,28 @@
+package src.Diagnostics;
+
+/**
+ * @brief JMX view of a LatencyHistogram - everything recorded since the game started, in microseconds.
+ */
+public interface LatencyMXBean {
+
+    /** @return number of recorded durations */
+    long getCount();
+
+    /** @return average duration */
+    double getMeanMicros();
+
+    /** @return median duration */
+    double getP50Micros();
+
+    /** @return 90th percentile */
+    double getP90Micros();
+
+    /** @return 99th percentile */
+    double getP99Micros();
+
+    /** @return 99.9th percentile */
+    double getP999Micros();
+
+    /** @return longest duration */
+    double getMaxMicros();
+}
@@ -0,0 +1,35 @@
+package src.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * @class LeaderboardWriteEvent
+ *
+ * @brief Flight Recorder event spanning one group commit of the leaderboard, lock wait and disk flush included.
+ */
+@Name("pacman.LeaderboardWrite")
+@Label("Leaderboard Write")
+@Category({"PacMan", "Leaderboard"})
+@Description("Scores being appended to the leaderboard file")
+public class LeaderboardWriteEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    public String path;
+
+    @Label("Entries")
+    @Description("Scores written by this commit")
+    public int entries;
+
+    @Label("Lock Wait")
+    @Description("Time spent waiting for other game instances to release the file")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockWait;
+
+    @Label("Compacted")
+    @Description("Whether the commit also rewrote the file")
+    public boolean compacted;
+}
@@ -0,0 +1,34 @@
+package src.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @class TickEvent
+ *
+ * @brief Flight Recorder event spanning one game tick, from the timer firing to the repaints being scheduled.
+ */
+@Name("pacman.Tick")
+@Label("Game Tick")
+@Category({"PacMan", "Game Loop"})
+@Description("One tick of the game loop - moving the entities, collisions, coin pickups and scheduling repaints")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+
+    @Label("Tick")
+    @Description("Number of the tick since the game started")
+    public long tick;
+
+    @Label("Ghosts")
+    public int ghosts;
+
+    @Label("Dirty Tiles")
+    @Description("Tiles scheduled for repainting, -1 when the whole board is repainted")
+    public int dirtyTiles;
+
+    @Label("Game Over")
+    public boolean gameOver;
+}
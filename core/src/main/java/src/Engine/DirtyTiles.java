@@ -0,0 +1,81 @@
+package src.Engine;
+
+/**
+ * @class DirtyTiles
+ *
+ * @brief Set of tiles whose contents changed since the renderer last cleared it.
+ *
+ * The engine marks every tile an entity left or entered and every tile a coin disappeared from or appeared on,
+ * so a renderer only has to repaint those. Each tile is listed at most once. Once more tiles are dirty than
+ * it is worth tracking one by one, the set collapses into "everything is dirty".
+ */
+public class DirtyTiles {
+
+    private final long[] marked;
+    private final int limit;
+    private int[] tiles;
+    private int count;
+    private boolean all;
+
+    /**
+     * @brief Constructs an empty set for a map with the given number of tiles.
+     *
+     * @param cells number of tiles in the map
+     */
+    public DirtyTiles(int cells) {
+        this.marked = new long[(cells + 63) >>> 6];
+        // past a quarter of the map a full repaint is cheaper than tile by tile
+        this.limit = Math.max(16, cells / 4);
+        this.tiles = new int[16];
+    }
+
+    /**
+     * @brief marks a tile as changed
+     * @param cell index of the tile
+     */
+    public void mark(int cell) {
+        if (all || (marked[cell >>> 6] & (1L << cell)) != 0) return;
+        if (count == limit) {
+            markAll();
+            return;
+        }
+        marked[cell >>> 6] |= 1L << cell;
+        if (count == tiles.length) {
+            int[] grown = new int[Math.min(limit, tiles.length * 2)];
+            System.arraycopy(tiles, 0, grown, 0, count);
+            tiles = grown;
+        }
+        tiles[count++] = cell;
+    }
+
+    /**
+     * @brief marks the whole map as changed
+     */
+    public void markAll() {
+        all = true;
+    }
+
+    /** @return whether the whole map has to be repainted */
+    public boolean isAll() { return all; }
+
+    /** @return number of individually marked tiles */
+    public int size() { return count; }
+
+    /**
+     * @brief get a marked tile
+     * @param i position in the set, from 0 to size() - 1
+     * @return index of the tile
+     */
+    public int get(int i) { return tiles[i]; }
+
+    /**
+     * @brief empties the set, called by the renderer once it has scheduled the repaints
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            marked[tiles[i] >>> 6] = 0;
+        }
+        count = 0;
+        all = false;
+    }
+}
@@ -0,0 +1,507 @@
+package src.Engine;
+
+import src.Entities.*;
+import src.Maze.DistanceTable;
+import src.Maze.GridMap;
+import src.Maze.PathCache;
+import src.Maze.Pathfinder;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @class GameEngine
+ *
+ * @brief The GameEngine class holds the whole game state and advances it in fixed ticks.
+ *
+ * The engine owns the map, the player, the ghosts and the coins. It knows nothing about Swing,
+ * so it can be stepped as fast as the CPU allows without a display (e.g. for AI evaluation),
+ * while Board only renders whatever state the engine is in.
+ *
+ * A game is fully determined by its map, its seed and the inputs applied at each tick: coins are placed and
+ * ghosts decide from generators seeded by the engine, and player input is queued and only applied at the
+ * start of the next tick, never in the middle of one.
+ */
+public class GameEngine {
+
+    // length of a single tick in ms - entity speeds are expressed in the same unit
+    public static final int TICK_MS = 50;
+
+    // 0 - path, 1 - wall
+    public static final int MAP [] [] = {{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 0, 0, 1, 0, 1, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 0, 0, 1, 0, 1, 0, 0, 1, 0, 0},
+            {0, 0, 1, 0, 0, 0, 0, 1, 0, 1, 0, 0, 1, 0, 0},
+            {0, 0, 1, 0, 0, 0, 0, 1, 0, 1, 0, 0, 1, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+            {0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0},
+            {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 1, 0, 1, 0, 1, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 1, 0, 1, 0, 1, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 1, 0, 1, 0, 1, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 1, 0, 1, 0, 1, 0, 1, 1, 1, 1},
+            {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}};
+
+    // controls how many coins appear on the board
+    public static final int NUM_COINS = 5;
+    public static final int COIN_VALUE = 100;
+
+    private final GridMap map;
+    private final int rows;
+    private final int columns;
+    private DistanceTable distanceTable;
+    private Pathfinder pathfinder;
+    private int mapVersion;
+
+    private final Player player;
+    private final ArrayList<MovingEntity> ghosts;
+    // bulk ghosts kept as parallel arrays, and the tile the occupancy grid has each of them on
+    private final GhostStore ghostStore = new GhostStore(16);
+    private int[] storedCells = new int[16];
+    // moves of the ghost objects and of the stored ghosts, split over the scheduler's threads
+    private final TickScheduler.Batch ghostUpdate = new TickScheduler.Batch(this::updateGhosts);
+    private final TickScheduler.Batch storeUpdate =
+            new TickScheduler.Batch((from, to) -> ghostStore.update(this, from, to));
+    private final ArrayList<Coin> coins;
+    private final OccupancyGrid occupancy;
+    private final long seed;
+    private final Random rand;
+    // hands out the seeds of the ghosts' generators, separate from rand so ghosts don't shift coin placement
+    private final SplittableRandom ghostSeeds;
+    private TickScheduler scheduler;
+
+    // direction queued since the last tick, NO_INPUT if there is none
+    private static final int NO_INPUT = Integer.MIN_VALUE;
+    private final AtomicInteger queuedInput = new AtomicInteger(NO_INPUT);
+    private InputListener inputListener;
+
+    private final DirtyTiles dirtyTiles;
+
+    // points a coin is worth
+    private int coinValue = COIN_VALUE;
+
+    private long tickCount;
+    private boolean gameOver;
+    // ghost that caught the player, null while the game is on or if a stored ghost caught it
+    private MovingEntity caughtBy;
+    private String caughtByType;
+
+    /**
+     * @brief Constructs a game on the default map with the default set of ghosts.
+     */
+    public GameEngine() {
+        this(new GridMap(MAP));
+        addDefaultGhosts();
+    }
+
+    /**
+     * @brief Constructs a game on the given map, with a player and coins but without any ghosts.
+     *
+     * @param map 0/1 grid of the maze, 1 marks a wall
+     */
+    public GameEngine(int[][] map) {
+        this(new GridMap(map));
+    }
+
+    /**
+     * @brief Constructs a game on the given map with a random seed, with a player and coins but without any ghosts.
+     *
+     * @param map the maze, it may be shared by several games as long as none of them changes it
+     */
+    public GameEngine(GridMap map) {
+        this(map, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @brief Constructs a game on the given map, with a player and coins but without any ghosts.
+     *
+     * Two games with the same map, seed, ghosts and inputs play out exactly the same.
+     *
+     * @param map  the maze, it may be shared by several games as long as none of them changes it
+     * @param seed seed of every random decision in the game
+     */
+    public GameEngine(GridMap map, long seed) {
+        this.map = map;
+        this.seed = seed;
+        this.rows = map.getRows();
+        this.columns = map.getColumns();
+        this.mapVersion = -1;
+        this.dirtyTiles = new DirtyTiles(map.getCells());
+        this.occupancy = new OccupancyGrid(map.getCells());
+        this.coins = new ArrayList<Coin>();
+        refreshPathfinding();
+        this.rand = new Random(seed);
+        this.ghostSeeds = new SplittableRandom(seed);
+        this.ghosts = new ArrayList<MovingEntity>();
+        this.scheduler = TickScheduler.shared();
+
+        player = new Player(100.0f, spawnPoint(0, 0));
+        player.attach(this);
+
+        populateCoins();
+    }
+
+    /**
+     * @brief adds the standard set of ghosts - two wallhuggers, one chaser and one random ghost
+     */
+    public void addDefaultGhosts() {
+        addGhost(new WallhuggerGhost("assets/ghost_yellow.png", 200.0f, spawnPoint(4, 4)));
+        addGhost(new WallhuggerGhost("assets/ghost_yellow.png", 200.0f, spawnPoint(8, 8)));
+        addGhost(new DijkstraGhost("assets/ghost_green.png", 200.0f, spawnPoint(8, 8)));
+        addGhost(new RandomGhost("assets/ghost_pink.png", 100.0f, spawnPoint(8, 8)));
+    }
+
+    /**
+     * @brief get the open tile closest to the requested spawn position
+     *
+     * Spawn positions are picked for the default map; on a loaded map the tile may be a wall or outside.
+     *
+     * @param x requested column
+     * @param y requested row
+     * @return position of the nearest open tile
+     */
+    public Point spawnPoint(int x, int y) {
+        int cell = map.nearestOpen(x, y);
+        if (cell < 0) throw new IllegalStateException("The map has no open tiles");
+        return new Point(cell % columns, cell / columns);
+    }
+
+    /**
+     * @brief adds a ghost to the game
+     * @param ghost the ghost to add
+     */
+    public void addGhost(MovingEntity ghost) {
+        ghost.attach(this);
+        ghosts.add(ghost);
+        occupancy.addGhost(cellOf(ghost));
+    }
+
+    /**
+     * @brief adds a ghost to the engine's GhostStore instead of creating a ghost object
+     *
+     * Stored ghosts behave like the objects of the same type, but are updated as one array,
+     * which is what stress scenarios with thousands of ghosts need.
+     *
+     * @param type     one of GhostStore.RANDOM, GhostStore.WALLHUGGER or GhostStore.DIJKSTRA
+     * @param speed    ms between two moves - lower values result in higher speeds
+     * @param startPos starting position of the ghost
+     * @return index of the ghost in the store
+     */
+    public int addStoredGhost(byte type, float speed, Point startPos) {
+        int index = ghostStore.add(type, speed, startPos.x, startPos.y, nextSeed());
+        if (index == storedCells.length) storedCells = Arrays.copyOf(storedCells, index * 2);
+        storedCells[index] = startPos.y * columns + startPos.x;
+        occupancy.addGhost(storedCells[index]);
+        return index;
+    }
+
+    /**
+     * @brief get a seed for an entity's own random generator, derived from the game's seed
+     *
+     * Entities ask for it when they are added to the game, so the seeds depend only on the order they are added in.
+     *
+     * @return the next seed
+     */
+    public long nextSeed() {
+        return ghostSeeds.nextLong();
+    }
+
+    /**
+     * @brief queues a change of the player's direction, applied at the start of the next tick
+     *
+     * Safe to call from any thread, e.g. the Swing event thread. If several inputs arrive between two ticks
+     * only the last one counts.
+     *
+     * @param direction one of the Direction constants, Direction.NONE stops the player
+     */
+    public void queueInput(int direction) {
+        queuedInput.set(direction);
+    }
+
+    /**
+     * @brief sets the listener told about every input applied to the player
+     * @param listener the listener, null for none
+     */
+    public void setInputListener(InputListener listener) {
+        this.inputListener = listener;
+    }
+
+    /**
+     * @brief changes how many points coins are worth, both the ones on the board and the ones placed later
+     * @param value points per coin
+     */
+    public void setCoinValue(int value) {
+        coinValue = value;
+        for (Coin coin : coins) {
+            coin.setValue(value);
+        }
+    }
+
+    /**
+     * @brief sets the scheduler used to move the ghosts
+     * @param scheduler scheduler dispatching ghost moves, TickScheduler.inline() keeps the game single threaded
+     */
+    public void setScheduler(TickScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @brief Advances the game by exactly one tick.
+     *
+     * The tick has two phases. First every entity works out where it moves from an unchanging snapshot -
+     * the positions of the previous tick - with the ghosts split over the scheduler's threads; nothing
+     * anyone can see moves during this phase. Then all new positions are committed at once and collisions
+     * and coin pickups are resolved on the result. Does nothing once the game is over.
+     *
+     * Because both the old and the new positions are known at the commit, a ghost and the player swapping
+     * tiles is caught as well as ending up on the same tile - they can't dodge through each other.
+     */
+    public void step() {
+        if (gameOver) return;
+
+        applyInput();
+        refreshPathfinding();
+
+        // phase 1 - positions stay as they were during the whole phase, every ghost chases the same player tile
+        scheduler.run(ghostUpdate, ghosts.size());
+        if (ghostStore.size() > 0) scheduler.run(storeUpdate, ghostStore.size());
+        player.update();
+
+        // phase 2 - every entity moves at once
+        int playerFrom = cellOf(player);
+        player.commitMove();
+        int playerTo = cellOf(player);
+        markMoved(playerFrom, playerTo);
+        commitGhosts(playerFrom, playerTo);
+        checkEntityCollision();
+
+        // give the player points for collecting coins
+        if (!gameOver) collectCoins();
+
+        ++tickCount;
+    }
+
+    /**
+     * @brief works out the moves of the ghost objects with indices in [from, to)
+     */
+    private void updateGhosts(int from, int to) {
+        for (int i = from; i < to; i++) {
+            ghosts.get(i).update();
+        }
+    }
+
+    /**
+     * @brief commits the ghosts' new positions, keeping the occupancy grid and the dirty tiles up to date
+     *
+     * @param playerFrom tile the player left in this tick
+     * @param playerTo   tile the player entered
+     */
+    private void commitGhosts(int playerFrom, int playerTo) {
+        for (int i = 0; i < ghosts.size(); i++) {
+            MovingEntity ghost = ghosts.get(i);
+            int from = cellOf(ghost);
+            ghost.commitMove();
+            int to = cellOf(ghost);
+            if (from == to) continue;
+            occupancy.moveGhost(from, to);
+            markMoved(from, to);
+            if (from == playerTo && to == playerFrom) caught(ghost, ghost.getClass().getSimpleName());
+        }
+
+        int stored = ghostStore.size();
+        if (stored == 0) return;
+        ghostStore.commit();
+        for (int i = 0; i < stored; i++) {
+            int from = storedCells[i];
+            int to = ghostStore.getY(i) * columns + ghostStore.getX(i);
+            if (from == to) continue;
+            occupancy.moveGhost(from, to);
+            markMoved(from, to);
+            storedCells[i] = to;
+            if (from == playerTo && to == playerFrom) caught(null, GhostStore.typeName(ghostStore.getType(i)));
+        }
+    }
+
+    /**
+     * @brief hands the queued input to the player and the listener
+     */
+    private void applyInput() {
+        int direction = queuedInput.getAndSet(NO_INPUT);
+        if (direction == NO_INPUT || direction == player.getDirection()) return;
+        player.setDirection(direction);
+        if (inputListener != null) inputListener.inputApplied(tickCount, direction);
+    }
+
+    /**
+     * @brief marks both tiles dirty if an entity moved between them
+     */
+    private void markMoved(int from, int to) {
+        if (from == to) return;
+        dirtyTiles.mark(from);
+        dirtyTiles.mark(to);
+    }
+
+    private int cellOf(MovingEntity entity) {
+        return entity.getPos().y * columns + entity.getPos().x;
+    }
+
+    /**
+     * @brief (re)builds the pathfinding structures when the map is new or has changed since the last tick
+     */
+    private void refreshPathfinding() {
+        if (mapVersion == map.getVersion()) return;
+        mapVersion = map.getVersion();
+        if (dirtyTiles != null) dirtyTiles.markAll();
+        distanceTable = DistanceTable.forMap(map);
+        // maps too large for a table search clusters of tiles instead, with the answers cached for this game
+        pathfinder = distanceTable != null ? distanceTable : new PathCache(map, PathCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @brief place coins on the board at random, at most one per tile
+     */
+    private void populateCoins() {
+        int coinsToPlace = NUM_COINS;
+        // give up on maps with fewer free tiles than coins
+        long attempts = 4L * map.getCells() + NUM_COINS;
+
+        while (coinsToPlace > 0 && attempts-- > 0){
+            int coinX = rand.nextInt(columns);
+            int coinY = rand.nextInt(rows);
+            int cell = coinY * columns + coinX;
+            if (isWall(coinX, coinY) || occupancy.coinAt(cell) != OccupancyGrid.EMPTY) continue;
+            occupancy.setCoin(cell, coins.size());
+            coins.add(new Coin(coinX, coinY, coinValue));
+            dirtyTiles.mark(cell);
+            --coinsToPlace;
+        }
+    }
+
+    /**
+     * @brief Allows the player to collect coins.
+     *
+     * If there is a coin on the player's tile, the player's score is increased by the value of the coin
+     * and the coin is removed from the board.
+     * If there are no more coins remaining on the board, new coins are populated.
+     */
+    private void collectCoins() {
+        int cell = cellOf(player);
+        int slot = occupancy.coinAt(cell);
+        if (slot != OccupancyGrid.EMPTY) {
+            player.addScore(coins.get(slot).getValue());
+            removeCoin(slot);
+            dirtyTiles.mark(cell);
+        }
+
+        if (coins.size() < 1) populateCoins();
+    }
+
+    /**
+     * @brief removes a coin in O(1) by moving the last coin into its slot
+     */
+    private void removeCoin(int slot) {
+        Coin removed = coins.get(slot);
+        int last = coins.size() - 1;
+        Coin moved = coins.get(last);
+        coins.set(slot, moved);
+        coins.remove(last);
+        occupancy.clearCoin(removed.getPos().y * columns + removed.getPos().x);
+        if (moved != removed) occupancy.setCoin(moved.getPos().y * columns + moved.getPos().x, slot);
+    }
+
+    /**
+     * @brief Checks whether a ghost shares the player's tile after the commit and ends the game on a hit.
+     */
+    private void checkEntityCollision() {
+        int playerCell = cellOf(player);
+        if (gameOver || occupancy.ghostsAt(playerCell) == 0) return;
+        // only happens once per game, so a scan is fine
+        for (MovingEntity ghost : ghosts) {
+            if (cellOf(ghost) == playerCell) {
+                caught(ghost, ghost.getClass().getSimpleName());
+                return;
+            }
+        }
+        for (int i = 0; i < ghostStore.size(); i++) {
+            if (storedCells[i] == playerCell) {
+                caught(null, GhostStore.typeName(ghostStore.getType(i)));
+                return;
+            }
+        }
+    }
+
+    /**
+     * @brief ends the game, remembering the first ghost that caught the player
+     */
+    private void caught(MovingEntity ghost, String type) {
+        if (gameOver) return;
+        gameOver = true;
+        caughtBy = ghost;
+        caughtByType = type;
+    }
+
+    /**
+     * @brief checks whether the given tile is a wall
+     * @param x column of the tile
+     * @param y row of the tile
+     * @return true for walls and for tiles directly outside the map
+     */
+    public boolean isWall(int x, int y) {
+        return map.isWall(x, y);
+    }
+
+    /** @return the maze the game is played on */
+    public GridMap getMap() { return map; }
+
+    /** @return number of rows of the map */
+    public int getRows() { return rows; }
+
+    /** @return number of columns of the map */
+    public int getColumns() { return columns; }
+
+    /** @return precomputed shortest paths of the map, null if the map is too large for a table */
+    public DistanceTable getDistanceTable() { return distanceTable; }
+
+    /** @return shortest paths between tiles - the DistanceTable, or a cached HierarchicalPathfinder on larger maps */
+    public Pathfinder getPathfinder() { return pathfinder; }
+
+    /** @return the player instance */
+    public Player getPlayer() { return player; }
+
+    /** @return ghosts present in the game */
+    public List<MovingEntity> getGhosts() { return ghosts; }
+
+    /** @return ghosts kept in struct-of-arrays form, see addStoredGhost() */
+    public GhostStore getGhostStore() { return ghostStore; }
+
+    /** @return coins currently placed on the board */
+    public List<Coin> getCoins() { return coins; }
+
+    /** @return index of the coins and ghosts standing on every tile */
+    public OccupancyGrid getOccupancy() { return occupancy; }
+
+    /** @return tiles changed since the renderer last cleared the set */
+    public DirtyTiles getDirtyTiles() { return dirtyTiles; }
+
+    /** @return seed the game was started with */
+    public long getSeed() { return seed; }
+
+    /** @return number of ticks simulated so far */
+    public long getTickCount() { return tickCount; }
+
+    /** @return whether a ghost has caught the player */
+    public boolean isGameOver() { return gameOver; }
+
+    /** @return the ghost that caught the player, or null if the game is not over or a stored ghost caught it */
+    public MovingEntity getCaughtBy() { return caughtBy; }
+
+    /** @return class name of the type of ghost that caught the player, e.g. "RandomGhost", or null */
+    public String getCaughtByType() { return caughtByType; }
+}
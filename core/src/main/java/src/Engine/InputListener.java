@@ -0,0 +1,14 @@
+package src.Engine;
+
+/**
+ * @brief Gets told about every player input the engine applies, e.g. to record it for a replay.
+ */
+public interface InputListener {
+
+    /**
+     * @brief called at the start of a tick, right after a queued input changed the player's direction
+     * @param tick      number of the tick the input takes effect in, counted from 0
+     * @param direction one of the Direction constants, Direction.NONE when the player stopped
+     */
+    void inputApplied(long tick, int direction);
+}
@@ -0,0 +1,86 @@
+package src.Engine;
+
+import java.util.Arrays;
+
+/**
+ * @class OccupancyGrid
+ *
+ * @brief Per-tile index of what currently stands on the map.
+ *
+ * For every tile it keeps the slot of the coin lying there (the coin's position in the engine's coin list)
+ * and how many ghosts are on it. The engine updates it whenever a coin appears or disappears and whenever a
+ * ghost changes tiles, so a coin pickup or a collision check is a single array read regardless of how many
+ * coins and ghosts the game has.
+ */
+public class OccupancyGrid {
+
+    // coinSlot value of a tile without a coin
+    public static final int EMPTY = -1;
+
+    private final int[] coinSlot;
+    private final int[] ghostCount;
+
+    /**
+     * @brief Constructs an empty index for a map with the given number of tiles.
+     *
+     * @param cells number of tiles in the map
+     */
+    public OccupancyGrid(int cells) {
+        coinSlot = new int[cells];
+        ghostCount = new int[cells];
+        Arrays.fill(coinSlot, EMPTY);
+    }
+
+    /**
+     * @brief get the coin lying on a tile
+     * @param cell index of the tile
+     * @return slot of the coin in the coin list, or EMPTY
+     */
+    public int coinAt(int cell) {
+        return coinSlot[cell];
+    }
+
+    /**
+     * @brief records that the coin in the given slot lies on the tile
+     * @param cell index of the tile
+     * @param slot position of the coin in the coin list
+     */
+    public void setCoin(int cell, int slot) {
+        coinSlot[cell] = slot;
+    }
+
+    /**
+     * @brief records that the tile no longer holds a coin
+     * @param cell index of the tile
+     */
+    public void clearCoin(int cell) {
+        coinSlot[cell] = EMPTY;
+    }
+
+    /**
+     * @brief get the number of ghosts on a tile
+     * @param cell index of the tile
+     * @return how many ghosts stand there
+     */
+    public int ghostsAt(int cell) {
+        return ghostCount[cell];
+    }
+
+    /**
+     * @brief records a ghost entering the map
+     * @param cell index of the tile it appears on
+     */
+    public void addGhost(int cell) {
+        ++ghostCount[cell];
+    }
+
+    /**
+     * @brief records a ghost moving between two tiles
+     * @param from index of the tile it left
+     * @param to   index of the tile it entered
+     */
+    public void moveGhost(int from, int to) {
+        --ghostCount[from];
+        ++ghostCount[to];
+    }
+}
@@ -0,0 +1,178 @@
+package src.Engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @class TickScheduler
+ *
+ * @brief Dispatches the moves of a group of entities for one tick as a single batch.
+ *
+ * Entities are split into contiguous chunks which run on a bounded pool of worker threads that is
+ * created once and reused for every tick, and the chunks themselves are kept in a Batch and reused as long as
+ * the number of entities stays the same. run() only returns when every chunk is done, so it acts as a barrier
+ * between the movement phase and the collision checks that follow it.
+ * Small batches are not worth the hand-off and run on the calling thread.
+ */
+public class TickScheduler {
+
+    // batches smaller than this are updated on the calling thread
+    public static final int PARALLEL_THRESHOLD = 64;
+
+    private static final TickScheduler INLINE = new TickScheduler(null, 1);
+    private static TickScheduler shared;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    /**
+     * @brief Constructs a scheduler running batches on the given executor.
+     *
+     * @param executor    pool the chunks are submitted to, null runs everything on the calling thread
+     * @param parallelism number of chunks a batch is split into
+     */
+    public TickScheduler(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @brief get a scheduler which never leaves the calling thread
+     * @return the inline scheduler
+     */
+    public static TickScheduler inline() {
+        return INLINE;
+    }
+
+    /**
+     * @brief get the process-wide scheduler backed by one worker per core
+     *
+     * The workers are daemon threads, so the pool never keeps the application alive.
+     *
+     * @return the shared scheduler
+     */
+    public static synchronized TickScheduler shared() {
+        if (shared == null) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            AtomicInteger threadId = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(cores, r -> {
+                Thread worker = new Thread(r, "tick-worker-" + threadId.incrementAndGet());
+                worker.setDaemon(true);
+                return worker;
+            });
+            shared = new TickScheduler(pool, cores);
+        }
+        return shared;
+    }
+
+    /**
+     * @brief Splits the indices [0, count) into contiguous ranges, runs the batch's task on each and waits for all of them.
+     *
+     * The task must only write state belonging to its own range, so the result does not depend on how the
+     * indices were split. The calling thread takes the first range itself and the others go to the workers.
+     * The ranges are only worked out again when count changes, so a tick allocates no tasks of its own.
+     *
+     * @param batch work to do on every range, only ever run by one caller at a time
+     * @param count number of indices
+     */
+    public void run(Batch batch, int count) {
+        if (executor == null || count < PARALLEL_THRESHOLD) {
+            batch.task.run(0, count);
+            return;
+        }
+
+        Batch.Range[] ranges = batch.split(count, parallelism);
+        batch.failure = null;
+        batch.waiter = Thread.currentThread();
+        batch.pending.set(ranges.length);
+        for (int i = 1; i < ranges.length; i++) {
+            executor.execute(ranges[i]);
+        }
+        ranges[0].run();
+
+        // the barrier - the ranges on the workers must be done before anyone looks at their results
+        boolean interrupted = false;
+        while (batch.pending.get() > 0) {
+            LockSupport.park(batch);
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tick interrupted");
+        }
+        if (batch.failure != null) throw new IllegalStateException("Entity update failed", batch.failure);
+    }
+
+    /**
+     * @brief A task run over ranges of indices every tick, together with the ranges it was split into last time.
+     *
+     * Callers keep one Batch per kind of work, e.g. GameEngine has one for its ghost objects and one for its
+     * GhostStore, and hand it to run() on every tick.
+     */
+    public static final class Batch {
+        private final RangeTask task;
+        private final AtomicInteger pending = new AtomicInteger();
+        private Range[] ranges = new Range[0];
+        private int count = -1;
+        private int parallelism;
+        private volatile Thread waiter;      //thread waiting in run() for the last range to finish
+        private volatile Throwable failure;  //first error thrown by a range
+
+        /**
+         * @param task work to do for one range
+         */
+        public Batch(RangeTask task) {
+            this.task = task;
+        }
+
+        /**
+         * @brief get the ranges [0, count) is split into, reusing the previous ones if count hasn't changed
+         */
+        private Range[] split(int count, int parallelism) {
+            if (count == this.count && parallelism == this.parallelism) return ranges;
+            int chunkSize = (count + parallelism - 1) / parallelism;
+            ranges = new Range[(count + chunkSize - 1) / chunkSize];
+            for (int i = 0; i < ranges.length; i++) {
+                ranges[i] = new Range(i * chunkSize, Math.min(count, (i + 1) * chunkSize));
+            }
+            this.count = count;
+            this.parallelism = parallelism;
+            return ranges;
+        }
+
+        private final class Range implements Runnable {
+            private final int from;
+            private final int to;
+
+            Range(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    task.run(from, to);
+                } catch (Throwable e) {
+                    failure = e;
+                } finally {
+                    if (pending.decrementAndGet() == 0) LockSupport.unpark(waiter);
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Work done on one contiguous range of indices.
+     */
+    public interface RangeTask {
+
+        /**
+         * @param from first index of the range
+         * @param to   index after the last one
+         */
+        void run(int from, int to);
+    }
+}
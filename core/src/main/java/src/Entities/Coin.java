@@ -1,14 +1,9 @@
 package src.Entities;
 
-import src.Board;
-
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
 import java.awt.Point;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 /**
  * It would make a lot of sense to create a base abstract class StaticEntity, but since Coin would be its only child,
@@ -47,13 +42,8 @@ public class Coin {
      * @brief Loads the image of the coin.
      */
     private void loadImage() {
-        try {
-            // you can use just the filename if the image file is in your
-            // project folder, otherwise you need to provide the file path.
-            image = ImageIO.read(new File("assets/monee.png"));
-        } catch (IOException exc) {
-            System.out.println("Error opening image file: " + exc.getMessage());
-        }
+        // all coins share one decoded image
+        image = SpriteCache.get("assets/monee.png");
     }
 
     /**
@@ -61,16 +51,17 @@ public class Coin {
      *
      * @param g        The graphics context to draw on.
      * @param observer The image observer object.
+     * @param tileSize size of a board tile in pixels
      */
-    public void draw(Graphics g, ImageObserver observer) {
+    public void draw(Graphics g, ImageObserver observer, int tileSize) {
         // with the Point class, note that pos.getX() returns a double, but
         // pos.x reliably returns an int. https://stackoverflow.com/a/30220114/4655368
         // this is also where we translate board grid position into a canvas pixel
         // position by multiplying by the tile size.
         g.drawImage(
                 image,
-                pos.x * Board.TILE_SIZE,
-                pos.y * Board.TILE_SIZE,
+                pos.x * tileSize,
+                pos.y * tileSize,
                 observer
         );
     }
@@ -91,4 +82,10 @@ public class Coin {
      */
     public int getValue() { return value; }
 
+    /**
+     * @brief changes how many points the coin is worth
+     * @param value new value of the coin
+     */
+    public void setValue(int value) { this.value = value; }
+
 }
\ No newline at end of file
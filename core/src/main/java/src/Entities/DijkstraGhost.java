@@ -0,0 +1,72 @@
+package src.Entities;
+
+import src.Engine.GameEngine;
+import src.Entities.MovingEntity;
+import src.Maze.Direction;
+
+import java.awt.*;
+
+/**
+ * @brief DijkstraGhost class represents a ghost character that always follows the shortest path to the player.
+ *
+ * This class extends the MovingEntity class and implements the movement behavior specific to a DijkstraGhost.
+ * The paths themselves are not searched by the ghost - it asks the engine's Pathfinder, a precomputed
+ * DistanceTable or, on maps too large for one, a cached HierarchicalPathfinder shared by all chasing ghosts.
+ */
+public class DijkstraGhost extends MovingEntity {
+
+    /**
+     * @brief Constructs a DijkstraGhost object with the specified image path, speed, and starting position.
+     *
+     * @param imagePath The path to the image representing the ghost.
+     * @param speed The speed of the ghost.
+     * @param startPos The starting position of the ghost.
+     */
+    public DijkstraGhost(String imagePath, float speed, Point startPos) {
+        super(speed, startPos);
+        setSprite(imagePath);
+    }
+
+    /**
+     * @brief Moves the ghost one step along the shortest path to the player.
+     */
+    @Override
+    protected void Move() {
+        Point target = engine.getPlayer().getPos();
+        int nextDirection = engine.getPathfinder().nextDirection(pos.x, pos.y, target.x, target.y);
+
+        if (nextDirection == Direction.NONE) {
+            return; // No valid path found or the player is already caught
+        }
+        direction.x = Direction.DX[nextDirection];
+        direction.y = Direction.DY[nextDirection];
+        next.translate(direction.x, direction.y);
+    }
+
+    /**
+     * @brief get the length of the shortest path to the player from the tile the ghost moves to
+     *
+     * Exact on maps with a DistanceTable; on larger ones an upper bound, see Pathfinder.distance().
+     *
+     * @return steps to the player, or -1 if the player cannot be reached
+     */
+    @Override
+    protected int pathLength() {
+        Point target = engine.getPlayer().getPos();
+        return engine.getPathfinder().distance(next.x, next.y, target.x, target.y);
+    }
+
+    /**
+     * @brief moves the stored ghost at the given index the same way Move() moves a DijkstraGhost object
+     *
+     * @param store  the ghosts
+     * @param i      index of the ghost to move
+     * @param engine the game, holding the pathfinding structures and the player
+     */
+    static void moveStored(GhostStore store, int i, GameEngine engine) {
+        Point target = engine.getPlayer().getPos();
+        int nextDirection = engine.getPathfinder().nextDirection(store.x[i], store.y[i], target.x, target.y);
+        if (nextDirection == Direction.NONE) return;
+        store.step(i, nextDirection);
+    }
+}
@@ -0,0 +1,224 @@
+package src.Entities;
+
+import src.Engine.GameEngine;
+import src.Maze.Direction;
+import src.Maze.GridMap;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Arrays;
+
+/**
+ * @class GhostStore
+ *
+ * @brief Compact storage for large numbers of ghosts, one primitive array per field.
+ *
+ * Ghost objects each own a Point for the position and another for the direction, so updating thousands of
+ * them chases pointers all over the heap. The store keeps the same state in parallel arrays indexed by ghost
+ * number instead, and update() walks a range of indices with the behaviour of each ghost type implemented as
+ * a static kernel in RandomGhost, WallhuggerGhost and DijkstraGhost. A tick then streams through a few
+ * contiguous arrays, and disjoint ranges can be updated by different threads.
+ *
+ * Positions are double-buffered like those of ghost objects: update() writes the back buffers nextX/nextY
+ * while x/y keep the previous tick, and commit() swaps the two, so every ghost moves from the same snapshot.
+ *
+ * Stored ghosts move exactly like the corresponding objects but have no identity of their own - they are
+ * meant for stress scenarios with 10k+ ghosts, the regular game keeps using ghost objects.
+ */
+public class GhostStore {
+
+    // behaviour types
+    public static final byte RANDOM = 0;
+    public static final byte WALLHUGGER = 1;
+    public static final byte DIJKSTRA = 2;
+
+    private static final String[] TYPE_NAMES = {"RandomGhost", "WallhuggerGhost", "DijkstraGhost"};
+    private static final String[] SPRITES = {"assets/ghost_pink.png", "assets/ghost_yellow.png",
+            "assets/ghost_green.png"};
+
+    // per ghost state, only the first size entries are used
+    int[] x;
+    int[] y;
+    int[] nextX;           //back buffers written by update()
+    int[] nextY;
+    byte[] direction;      //current direction, Direction.NONE before the first move
+    int[] tickCounter;     //ticks since the last move, as in MovingEntity
+    float[] speed;         //ms between two moves - lower speed, faster ghost
+    byte[] type;
+    byte[] moveDuration;   //moves left before a random ghost turns
+    long[] random;         //state of each random ghost's generator
+    private int size;
+
+    /**
+     * @brief Constructs an empty store.
+     *
+     * @param capacity number of ghosts it can hold before growing
+     */
+    public GhostStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        x = new int[capacity];
+        y = new int[capacity];
+        nextX = new int[capacity];
+        nextY = new int[capacity];
+        direction = new byte[capacity];
+        tickCounter = new int[capacity];
+        speed = new float[capacity];
+        type = new byte[capacity];
+        moveDuration = new byte[capacity];
+        random = new long[capacity];
+    }
+
+    /**
+     * @brief adds a ghost to the store
+     *
+     * @param ghostType one of RANDOM, WALLHUGGER or DIJKSTRA
+     * @param ghostSpeed ms between two moves
+     * @param startX    starting column
+     * @param startY    starting row
+     * @param seed      seed of the ghost's random generator, only used by RANDOM ghosts
+     * @return index of the new ghost
+     */
+    public int add(byte ghostType, float ghostSpeed, int startX, int startY, long seed) {
+        if (ghostType < RANDOM || ghostType > DIJKSTRA) throw new IllegalArgumentException("Unknown ghost type " + ghostType);
+        if (size == x.length) grow(size * 2);
+        x[size] = startX;
+        y[size] = startY;
+        direction[size] = (byte) Direction.NONE;
+        tickCounter[size] = 0;
+        speed[size] = ghostSpeed;
+        type[size] = ghostType;
+        moveDuration[size] = 0;
+        random[size] = seed;
+        return size++;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        nextX = Arrays.copyOf(nextX, capacity);
+        nextY = Arrays.copyOf(nextY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        tickCounter = Arrays.copyOf(tickCounter, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        type = Arrays.copyOf(type, capacity);
+        moveDuration = Arrays.copyOf(moveDuration, capacity);
+        random = Arrays.copyOf(random, capacity);
+    }
+
+    /**
+     * @brief Works out the next position of the ghosts with indices in [from, to), see commit().
+     *
+     * Same rules as MovingEntity.update(): a ghost moves once tickCounter * TICK_MS reaches its speed.
+     * Every ghost only writes its own entries and reads state that is fixed until the commit, so
+     * disjoint ranges may be updated concurrently. Every index has to be updated before commit().
+     *
+     * @param engine the game the ghosts take part in
+     * @param from   first index to update
+     * @param to     index after the last one to update
+     */
+    public void update(GameEngine engine, int from, int to) {
+        GridMap map = engine.getMap();
+        for (int i = from; i < to; i++) {
+            nextX[i] = x[i];
+            nextY[i] = y[i];
+            if (tickCounter[i] * GameEngine.TICK_MS < speed[i]) {
+                ++tickCounter[i];
+                continue;
+            }
+            tickCounter[i] = 1;
+            switch (type[i]) {
+                case RANDOM: RandomGhost.moveStored(this, i, map); break;
+                case WALLHUGGER: WallhuggerGhost.moveStored(this, i, map); break;
+                default: DijkstraGhost.moveStored(this, i, engine); break;
+            }
+        }
+    }
+
+    /**
+     * @brief makes the positions worked out by update() the current ones by swapping the buffers
+     */
+    public void commit() {
+        int[] swap = x;
+        x = nextX;
+        nextX = swap;
+        swap = y;
+        y = nextY;
+        nextY = swap;
+    }
+
+    /**
+     * @brief moves a ghost one tile in the back buffer, kernels call it once they picked a direction
+     */
+    void step(int i, int dir) {
+        direction[i] = (byte) dir;
+        nextX[i] = x[i] + Direction.DX[dir];
+        nextY[i] = y[i] + Direction.DY[dir];
+    }
+
+    /**
+     * @brief draws one of the four directions from the ghost's own generator (SplitMix64)
+     */
+    int nextDirection(int i) {
+        long z = (random[i] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) ((z ^ (z >>> 31)) >>> 62);
+    }
+
+    /**
+     * @brief draws every ghost overlapping the clip
+     *
+     * @param g        The Graphics object used for rendering.
+     * @param observer The ImageObserver used to observe image updates.
+     * @param tileSize size of a board tile in pixels
+     * @param clip     area being painted, null means everything
+     * @return number of ghosts drawn
+     */
+    public int draw(Graphics g, ImageObserver observer, int tileSize, Rectangle clip) {
+        BufferedImage[] sprites = new BufferedImage[SPRITES.length];
+        for (int t = 0; t < SPRITES.length; t++) {
+            sprites[t] = SpriteCache.get(SPRITES[t]);
+        }
+        int drawn = 0;
+        for (int i = 0; i < size; i++) {
+            int left = x[i] * tileSize;
+            int top = y[i] * tileSize;
+            if (clip != null && !clip.intersects(left, top, tileSize, tileSize)) continue;
+            g.drawImage(sprites[type[i]], left, top, observer);
+            ++drawn;
+        }
+        return drawn;
+    }
+
+    /** @return number of stored ghosts */
+    public int size() { return size; }
+
+    /** @return column of the given ghost */
+    public int getX(int i) { return x[i]; }
+
+    /** @return row of the given ghost */
+    public int getY(int i) { return y[i]; }
+
+    /** @return behaviour type of the given ghost */
+    public byte getType(int i) { return type[i]; }
+
+    /** @return ms between two moves of the given ghost */
+    public float getSpeed(int i) { return speed[i]; }
+
+    /**
+     * @brief changes how fast a ghost moves
+     * @param i          index of the ghost
+     * @param ghostSpeed ms between two moves - lower values result in higher speeds
+     */
+    public void setSpeed(int i, float ghostSpeed) { speed[i] = ghostSpeed; }
+
+    /**
+     * @brief get the class name of the ghost objects that behave like the given type
+     * @param ghostType one of RANDOM, WALLHUGGER or DIJKSTRA
+     * @return e.g. "RandomGhost"
+     */
+    public static String typeName(byte ghostType) {
+        return TYPE_NAMES[ghostType];
+    }
+}
@@ -0,0 +1,193 @@
+package src.Entities;
+
+import src.Diagnostics.GhostMoveEvent;
+import src.Diagnostics.LatencyHistogram;
+import src.Diagnostics.Metrics;
+import src.Engine.GameEngine;
+
+import jdk.jfr.EventType;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+
+/**
+ * @brief serves as a parent class for all "moving" entities - player and ghosts
+ */
+public abstract class MovingEntity {
+    // lets update() skip creating ghost move events while no recording wants them
+    private static final EventType GHOST_MOVES = EventType.getEventType(GhostMoveEvent.class);
+
+    protected BufferedImage sprite;
+    protected Point pos; //position as of the last committed tick - what everybody else sees
+    protected Point next; //back buffer - Move() puts the entity's position for the coming tick here
+    protected int tickCounter; //counts the number of ticks since the last move.
+    //it the number of ticks is at least equal to set speed, make a move and reset the counter.
+    protected float speed; //specifies how fast the ghost will move.
+    //LOWER speed - ghost moves FASTER
+    protected Point direction;
+    protected GameEngine engine; //game this entity takes part in
+    private final LatencyHistogram moveTimes; //time spent in Move(), shared by all entities of the same class
+
+    /**
+     * @breif class constructor
+     * @param speed - speed of the entity- lower values result in higher speeds
+     * @param startPos - starting position of the entity
+     */
+    public MovingEntity(float speed, Point startPos){
+        this.speed = speed;
+        this.tickCounter = 0;
+        this.pos = startPos;
+        this.next = new Point(startPos);
+        this.direction = new Point();
+        this.moveTimes = Metrics.histogram("move." + getClass().getSimpleName());
+    }
+
+    /**
+     * @breif abstract method that handles how each entity moves across the board.
+     * Each child class can override this method differently
+     * It reads the current position from pos and writes the new one to next, pos must not change.
+     */
+    protected abstract void Move();
+
+    /**
+     * @brief binds the entity to the game it takes part in
+     * @param engine game which owns this entity
+     */
+    public void attach(GameEngine engine){
+        this.engine = engine;
+    }
+
+    /**
+     * @brief Works out where the entity is going to be after this tick - the first half of a two-phase tick.
+     *
+     * The tickCounter is checked to determine if the entity should move.
+     * If the tickCounter multiplied by the tick length is greater than or equal to the speed of the entity,
+     * the entity moves and the tickCounter is reset to 1. Otherwise, the tickCounter is incremented.
+     * The new position is only written to the back buffer; getPos() keeps returning the previous tick's
+     * position until commitMove(), so entities updated in parallel all see the same snapshot.
+     * The time each move takes is recorded in the "move.<class name>" histogram, and ghost moves are reported
+     * to Flight Recorder as GhostMoveEvents when a recording asks for them - otherwise no event is created.
+     *
+     * @return whether the entity moved during this tick
+     */
+    public boolean update(){
+        next.setLocation(pos);
+        if (tickCounter*GameEngine.TICK_MS >= speed){
+            long start = Metrics.now();
+            // the player's moves are not ghost moves
+            GhostMoveEvent event = null;
+            if (GHOST_MOVES.isEnabled() && !(this instanceof Player)) {
+                event = new GhostMoveEvent();
+                event.begin();
+            }
+            int fromX = pos.x;
+            int fromY = pos.y;
+            Move();
+            moveTimes.recordSince(start);
+            if (event != null && event.shouldCommit()) {
+                event.entityType = getClass().getSimpleName();
+                event.fromX = fromX;
+                event.fromY = fromY;
+                event.toX = next.x;
+                event.toY = next.y;
+                event.pathLength = pathLength();
+                event.commit();
+            }
+            tickCounter = 1;
+            return true;
+        }
+        ++tickCounter;
+        return false;
+    }
+
+    /**
+     * @brief makes the position worked out by update() the entity's position - the second half of the tick
+     */
+    public void commitMove(){
+        pos.setLocation(next);
+    }
+
+    /**
+     * @brief get the number of steps left to the entity's target, reported with its moves
+     *
+     * Called by update() right after Move(), so the steps are counted from next - the tile the entity is
+     * moving to - while the target is still where it was at the start of the tick.
+     *
+     * @return path length, or -1 for entities that do not follow a path
+     */
+    protected int pathLength(){
+        return -1;
+    }
+
+    /**
+     * @breif sets entity sprite
+     * @param imagePath path to the sprite
+     */
+    protected void setSprite(String imagePath){
+        sprite = SpriteCache.get(imagePath);
+    }
+
+    /**
+     * @breif checks if the entity's next position is inside a wall and steps it back if it is
+     * @param moveVector - the vector which resulted in the entity's new possition
+     * @return colided - whether the entity collided with a wall
+     */
+    protected boolean checkWallCollision(Point moveVector){
+        // the map is surrounded by walls, so stepping off the board is just another wall hit
+        if (engine.isWall(next.x, next.y)){
+            next.x = next.x - moveVector.x;
+            next.y = next.y - moveVector.y;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @breif Same as checkWallCollision, but position is absolute
+     * @param position possition at which to check for collision
+     * @return collided whether the position results in a collision
+     */
+    protected boolean checkWallCollisionAbsolute(Point position){
+        return engine.isWall(position.x, position.y);
+    }
+
+    /**
+     * @brief Draws the entoty on the screen.
+     *
+     * This method is responsible for drawing the entity on the screen using the provided Graphics object.
+     * Movement is handled separately by update(), so drawing never changes the game state.
+     *
+     * @param g The Graphics object used for rendering.
+     * @param observer The ImageObserver used to observe image updates.
+     * @param tileSize size of a board tile in pixels
+     */
+    public void draw(Graphics g, ImageObserver observer, int tileSize){
+        g.drawImage(sprite, pos.x*tileSize, pos.y*tileSize, observer);
+    }
+
+    /**
+     * @brief get the entity's speed
+     * @return milliseconds between two moves
+     */
+    public float getSpeed(){
+        return speed;
+    }
+
+    /**
+     * @brief changes how fast the entity moves
+     * @param speed milliseconds between two moves - lower values result in higher speeds
+     */
+    public void setSpeed(float speed){
+        this.speed = speed;
+    }
+
+    /**
+     * @brief get entity position
+     * @return entity position
+     */
+    public Point getPos(){
+        return pos;
+    }
+
+}
@@ -1,18 +1,13 @@
 package src.Entities;
 
 import src.Entities.MovingEntity;
+import src.Maze.Direction;
 
 import java.awt.event.KeyEvent;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
 import java.awt.Point;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import javax.imageio.ImageIO;
 
 /**
  * @class Player
@@ -23,6 +18,8 @@ public class Player extends MovingEntity {
 
     // keep track of the player's score
     private int score;
+    // direction the player is heading in, one of the Direction constants
+    private int heading = Direction.NONE;
 
     /**
      * Constructs a Player object with the specified speed and starting position.
@@ -42,7 +39,7 @@ public class Player extends MovingEntity {
     @Override
     protected void Move() {
 
-        pos.translate(direction.x, direction.y);
+        next.translate(direction.x, direction.y);
 
         checkWallCollision(direction);
     }
@@ -51,13 +48,7 @@ public class Player extends MovingEntity {
      * Loads the player's image from a file.
      */
     private void loadImage() {
-        try {
-            // you can use just the filename if the image file is in your
-            // project folder, otherwise you need to provide the file path.
-            sprite = ImageIO.read(new File("assets/pacman.png"));
-        } catch (IOException exc) {
-            System.out.println("Error opening image file: " + exc.getMessage());
-        }
+        setSprite("assets/pacman.png");
     }
 
     /**
@@ -66,27 +57,50 @@ public class Player extends MovingEntity {
      * @param e The KeyEvent representing the key press event.
      */
     public void keyPressed(KeyEvent e) {
-        // every keyboard get has a certain code. get the value of that code from the
-        // keyboard event so that we can compare it to KeyEvent constants
-        int key = e.getKeyCode();
-        Point lastMove = new Point(0 ,0);
-
-        // depending on which arrow key was pressed, we're going to move the player by
-        // one whole tile for this input
-        if (key == KeyEvent.VK_UP) {
-            lastMove.y = -1;
-        }
-        if (key == KeyEvent.VK_RIGHT) {
-            lastMove.x = 1;
-        }
-        if (key == KeyEvent.VK_DOWN) {
-            lastMove.y = 1;
+        setDirection(directionForKey(e.getKeyCode()));
+    }
+
+    /**
+     * @brief translates a key into the direction the player should go
+     *
+     * Every keyboard key has a certain code. Depending on which arrow key was pressed, we're going to move
+     * the player by one whole tile per move, any other key stops the player.
+     *
+     * @param key key code of the KeyEvent
+     * @return one of the Direction constants
+     */
+    public static int directionForKey(int key) {
+        switch (key) {
+            case KeyEvent.VK_UP: return Direction.UP;
+            case KeyEvent.VK_RIGHT: return Direction.RIGHT;
+            case KeyEvent.VK_DOWN: return Direction.DOWN;
+            case KeyEvent.VK_LEFT: return Direction.LEFT;
+            default: return Direction.NONE;
         }
-        if (key == KeyEvent.VK_LEFT) {
-            lastMove.x = -1;
+    }
+
+    /**
+     * @brief steers the player without a keyboard, e.g. from a simulation
+     *
+     * @param dir one of the Direction constants, Direction.NONE stops the player
+     */
+    public void setDirection(int dir) {
+        heading = dir;
+        if (dir == Direction.NONE) {
+            direction = new Point(0, 0);
+        } else {
+            direction = new Point(Direction.DX[dir], Direction.DY[dir]);
         }
-        direction = lastMove;
     }
+
+    /**
+     * @brief get the direction the player is heading in
+     * @return one of the Direction constants, Direction.NONE when standing still
+     */
+    public int getDirection() {
+        return heading;
+    }
+
     public void tick() {
         // this gets called once every tick, before the repainting process happens.
     }
@@ -0,0 +1,90 @@
+package src.Entities;
+
+import src.Engine.GameEngine;
+import src.Entities.MovingEntity;
+import src.Maze.Direction;
+import src.Maze.GridMap;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+
+/**
+ * @class RandomGhost
+ *
+ * @brief The RandomGhost class represents a random moving ghost entity in a game.
+ *        It inherits from the MovingEntity class.
+ */
+public class RandomGhost extends MovingEntity {
+    private int moveDuration; //ticks left until the ghost picks a new direction
+    private SplittableRandom rand; //every ghost draws from its own generator
+
+    /**
+     * Constructs a RandomGhost object with the specified image path, speed, and starting position.
+     *
+     * @param imagePath The path to the image representing the ghost.
+     * @param speed     The speed at which the ghost moves.
+     * @param startPos  The starting position of the ghost.
+     */
+    public RandomGhost(String imagePath, float speed, Point startPos) {
+        super(speed, startPos);
+        setSprite(imagePath);
+        rand = new SplittableRandom();
+    }
+
+    /**
+     * Binds the ghost to a game and reseeds its generator from the game's seed,
+     * so the ghost makes the same moves every time the game is replayed.
+     *
+     * @param engine game which owns this ghost
+     */
+    @Override
+    public void attach(GameEngine engine) {
+        super.attach(engine);
+        rand = new SplittableRandom(engine.nextSeed());
+    }
+
+    /**
+     * Moves the ghost in a random direction.
+     * If the move duration is greater than 0, it decreases the duration by 1.
+     * If the move duration is 0, it randomly selects a move direction (up, right, down, or left) and updates the ghost's direction accordingly.
+     * After moving, it updates the ghost's position and checks for wall collisions.
+     */
+    @Override
+    protected void Move() {
+        if (moveDuration > 0){
+            --moveDuration;
+        }
+        else {
+            int moveDirection = rand.nextInt(4); //0-up, 1-right, 2-down, 3-left
+            direction.x = Direction.DX[moveDirection];
+            direction.y = Direction.DY[moveDirection];
+            moveDuration = 3;
+        }
+
+        next.translate(direction.x, direction.y);
+
+        checkWallCollision(direction);
+    }
+
+    /**
+     * Moves the stored ghost at the given index the same way Move() moves a RandomGhost object.
+     *
+     * @param store the ghosts
+     * @param i     index of the ghost to move
+     * @param map   the maze
+     */
+    static void moveStored(GhostStore store, int i, GridMap map) {
+        if (store.moveDuration[i] > 0) {
+            --store.moveDuration[i];
+        }
+        else {
+            store.direction[i] = (byte) store.nextDirection(i);
+            store.moveDuration[i] = 3;
+        }
+
+        int dir = store.direction[i];
+        // walking into a wall leaves the ghost where it is
+        if ((map.neighbourMask(map.cellIndex(store.x[i], store.y[i])) & (1 << dir)) == 0) return;
+        store.step(i, dir);
+    }
+}
@@ -0,0 +1,71 @@
+package src.Entities;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @class SpriteCache
+ *
+ * @brief Process-wide cache of decoded sprites.
+ *
+ * Every asset is read and decoded once, converted to the screen's pixel format so drawing it needs no
+ * conversion, and the same image is then handed out to every entity that uses it. Creating a coin or a
+ * ghost therefore touches neither the disk nor the PNG decoder after the first one.
+ * The returned images are shared and must not be modified.
+ */
+public final class SpriteCache {
+
+    private static final ConcurrentHashMap<String, BufferedImage> SPRITES = new ConcurrentHashMap<>();
+    // stands in for files that could not be read, so they are tried and reported only once
+    private static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private SpriteCache() {
+    }
+
+    /**
+     * @brief get the sprite stored in the given file, decoding it on first use
+     *
+     * @param imagePath path to the image file
+     * @return the shared image, or null if the file could not be read - the error is only reported the first time
+     */
+    public static BufferedImage get(String imagePath) {
+        BufferedImage sprite = SPRITES.get(imagePath);
+        if (sprite == null) sprite = SPRITES.computeIfAbsent(imagePath, SpriteCache::load);
+        return sprite == MISSING ? null : sprite;
+    }
+
+    private static BufferedImage load(String imagePath) {
+        try {
+            BufferedImage decoded = ImageIO.read(new File(imagePath));
+            if (decoded == null) {
+                System.out.println("Error opening image file: unsupported format " + imagePath);
+                return MISSING;
+            }
+            return toCompatible(decoded);
+        } catch (IOException exc) {
+            System.out.println("Error opening image file: " + exc.getMessage());
+            return MISSING;
+        }
+    }
+
+    /**
+     * @brief copies the image into the pixel layout of the default screen, unless it already matches
+     */
+    private static BufferedImage toCompatible(BufferedImage decoded) {
+        if (GraphicsEnvironment.isHeadless()) return decoded;
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (decoded.getColorModel().equals(gc.getColorModel())) return decoded;
+
+        BufferedImage compatible = gc.createCompatibleImage(
+                decoded.getWidth(), decoded.getHeight(), decoded.getTransparency());
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(decoded, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+}
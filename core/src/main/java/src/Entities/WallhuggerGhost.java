@@ -0,0 +1,88 @@
+package src.Entities;
+
+import src.Maze.Direction;
+import src.Maze.GridMap;
+
+import java.awt.*;
+
+/**
+ * @class WallhuggerGhost
+ *
+ * @brief The WallhuggerGhost class represents a ghost that follows a wall-hugging movement logic.
+ */
+
+public class WallhuggerGhost extends MovingEntity{
+
+    private int lastMove = Direction.NONE;
+
+    /**
+     * @brief Constructs a WallhuggerGhost object with the specified image path, speed, and starting position.
+     *
+     * @param imagePath The path to the image representing the ghost.
+     * @param speed     The speed of the ghost.
+     * @param startPos  The starting position of the ghost.
+     */
+    public WallhuggerGhost(String imagePath, float speed, Point startPos) {
+        super(speed, startPos);
+        setSprite(imagePath);
+    }
+
+    /**
+     * @brief The Move() method determines the movement logic for the Wallhugger ghost.
+     *
+     * The ghost keeps going in the same direction until it hits a wall, then takes the first open
+     * direction (in up, right, down, left order), skipping the way it came from if there is another way out.
+     */
+    @Override
+    protected void Move() {
+        //first two open directions, in up, right, down, left order
+        int firstOpen = Direction.NONE;
+        int secondOpen = Direction.NONE;
+        for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+            if (engine.isWall(pos.x + Direction.DX[dir], pos.y + Direction.DY[dir])) continue;
+            if (firstOpen == Direction.NONE) firstOpen = dir;
+            else if (secondOpen == Direction.NONE) secondOpen = dir;
+        }
+        if (firstOpen == Direction.NONE) return; //walled in on all sides
+
+        //make the next move the same as the last one unless the next move will result in a collision
+        //if it results in a collision, get another move
+        int nextMove = lastMove;
+        if (lastMove == Direction.NONE
+                || engine.isWall(pos.x + Direction.DX[lastMove], pos.y + Direction.DY[lastMove])) {
+            nextMove = firstOpen;
+            if (lastMove != Direction.NONE && nextMove == Direction.opposite(lastMove) && secondOpen != Direction.NONE)
+                nextMove = secondOpen; //get another to avoid infinite backtracking
+        }
+        lastMove = nextMove;
+
+        direction.x = Direction.DX[nextMove];
+        direction.y = Direction.DY[nextMove];
+        next.translate(direction.x, direction.y);
+    }
+
+    /**
+     * @brief moves the stored ghost at the given index the same way Move() moves a WallhuggerGhost object
+     *
+     * @param store the ghosts
+     * @param i     index of the ghost to move
+     * @param map   the maze
+     */
+    static void moveStored(GhostStore store, int i, GridMap map) {
+        int open = map.neighbourMask(map.cellIndex(store.x[i], store.y[i]));
+        if (open == 0) return; //walled in on all sides
+        //the mask has one bit per direction, so its lowest bits are the first open directions in up, right, down, left order
+        int firstOpen = Integer.numberOfTrailingZeros(open);
+        int others = open & (open - 1);
+        int secondOpen = others == 0 ? Direction.NONE : Integer.numberOfTrailingZeros(others);
+
+        int lastMove = store.direction[i];
+        int nextMove = lastMove;
+        if (lastMove == Direction.NONE || (open & (1 << lastMove)) == 0) {
+            nextMove = firstOpen;
+            if (lastMove != Direction.NONE && nextMove == Direction.opposite(lastMove) && secondOpen != Direction.NONE)
+                nextMove = secondOpen; //get another to avoid infinite backtracking
+        }
+        store.step(i, nextMove);
+    }
+}
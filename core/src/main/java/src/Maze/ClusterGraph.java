@@ -0,0 +1,278 @@
+package src.Maze;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * @class ClusterGraph
+ *
+ * @brief The abstract graph HierarchicalPathfinder searches - built once per map, never changed afterwards.
+ *
+ * The map is cut into square clusters. Wherever two neighbouring clusters share an opening, an entrance is
+ * placed - in the middle of the opening, or at both ends of a wide one - and the tiles on either side of it
+ * become nodes of the graph. Nodes of the same cluster are linked by the length of the path between them
+ * inside the cluster, entrances link the clusters together. Every tile's distance to the nodes of its
+ * cluster is worked out as well.
+ *
+ * Like a DistanceTable the graph only keeps what it learned from the map, not the map itself, so it is shared
+ * by every game on the map and dropped together with the map.
+ */
+final class ClusterGraph {
+
+    // openings wider than this get an entrance at each end instead of one in the middle
+    private static final int MAX_ENTRANCE_WIDTH = 6;
+    // entry of toNode for tiles that can't reach the node inside their cluster
+    static final char NO_PATH = Character.MAX_VALUE;
+
+    private static final Map<GridMap, ClusterGraph> GRAPHS = new WeakHashMap<>();
+
+    final int columns;
+    final int rows;
+    final int clusterSize;
+    final int shift;    //log2 of clusterSize
+    final int tiles;    //tiles of a cluster, clusterSize²
+    final int clustersX;
+    final int version;
+
+    // the tile of every node, and the edges of node n at edgeStart[n] .. edgeStart[n + 1] - 1
+    final int[] nodeCell;
+    final int[] nodeLocal;  //position of the node's tile within its cluster
+    // distance from every tile of a node's cluster to the node, at node * tiles + tile
+    final char[] toNode;
+    final int[] edgeStart;
+    final int[] edgeTarget;
+    final int[] edgeCost;
+    // nodes of cluster c at clusterNodes[clusterStart[c]] .. clusterNodes[clusterStart[c + 1] - 1]
+    final int[] clusterStart;
+    final int[] clusterNodes;
+
+    /**
+     * @brief get the graph of the given map, building it on first use and after the map changed
+     *
+     * @param map the maze
+     * @return the shared graph of this map, with HierarchicalPathfinder.DEFAULT_CLUSTER_SIZE clusters
+     */
+    static synchronized ClusterGraph forMap(GridMap map) {
+        ClusterGraph graph = GRAPHS.get(map);
+        if (graph == null || graph.version != map.getVersion()) {
+            graph = new ClusterGraph(map, HierarchicalPathfinder.DEFAULT_CLUSTER_SIZE);
+            GRAPHS.put(map, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * @brief Builds the graph of the map.
+     *
+     * @param map         the maze
+     * @param clusterSize width and height of a cluster in tiles, a power of two
+     */
+    ClusterGraph(GridMap map, int clusterSize) {
+        if (clusterSize < 2 || Integer.bitCount(clusterSize) != 1) {
+            throw new IllegalArgumentException("Cluster size must be a power of two, got " + clusterSize);
+        }
+        this.columns = map.getColumns();
+        this.rows = map.getRows();
+        this.clusterSize = clusterSize;
+        this.shift = Integer.numberOfTrailingZeros(clusterSize);
+        this.tiles = clusterSize * clusterSize;
+        this.clustersX = (columns + clusterSize - 1) / clusterSize;
+        this.version = map.getVersion();
+        int clustersY = (rows + clusterSize - 1) / clusterSize;
+
+        Builder builder = new Builder();
+        // openings between horizontally neighbouring clusters, one cluster row at a time
+        for (int x = clusterSize; x < columns; x += clusterSize) {
+            for (int top = 0; top < rows; top += clusterSize) {
+                int bottom = Math.min(rows, top + clusterSize);
+                int runStart = -1;
+                for (int y = top; y <= bottom; y++) {
+                    boolean open = y < bottom && !map.isWall(x - 1, y) && !map.isWall(x, y);
+                    if (open && runStart < 0) runStart = y;
+                    if (open || runStart < 0) continue;
+                    for (int at : entrances(runStart, y - 1)) {
+                        builder.link(at * columns + x - 1, at * columns + x, 1);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+        // openings between vertically neighbouring clusters
+        for (int y = clusterSize; y < rows; y += clusterSize) {
+            for (int left = 0; left < columns; left += clusterSize) {
+                int right = Math.min(columns, left + clusterSize);
+                int runStart = -1;
+                for (int x = left; x <= right; x++) {
+                    boolean open = x < right && !map.isWall(x, y - 1) && !map.isWall(x, y);
+                    if (open && runStart < 0) runStart = x;
+                    if (open || runStart < 0) continue;
+                    for (int at : entrances(runStart, x - 1)) {
+                        builder.link((y - 1) * columns + at, y * columns + at, 1);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+
+        nodeCell = Arrays.copyOf(builder.nodeCells, builder.nodes);
+        nodeLocal = new int[nodeCell.length];
+        for (int node = 0; node < nodeCell.length; node++) {
+            nodeLocal[node] = localIndex(nodeCell[node]);
+        }
+        int clusters = clustersX * clustersY;
+        clusterStart = new int[clusters + 1];
+        for (int node = 0; node < nodeCell.length; node++) {
+            ++clusterStart[clusterOf(nodeCell[node]) + 1];
+        }
+        for (int c = 0; c < clusters; c++) {
+            clusterStart[c + 1] += clusterStart[c];
+        }
+        clusterNodes = new int[nodeCell.length];
+        int[] fill = Arrays.copyOf(clusterStart, clusters);
+        for (int node = 0; node < nodeCell.length; node++) {
+            clusterNodes[fill[clusterOf(nodeCell[node])]++] = node;
+        }
+
+        // nodes of the same cluster are linked by their distance inside the cluster, and every tile learns its
+        // distance to each node of its cluster
+        toNode = new char[nodeCell.length * tiles];
+        int[] distance = new int[tiles];
+        int[] queue = new int[tiles];
+        for (int c = 0; c < clusters; c++) {
+            for (int i = clusterStart[c]; i < clusterStart[c + 1]; i++) {
+                int from = clusterNodes[i];
+                searchCluster(map, nodeCell[from], distance, queue);
+                for (int tile = 0; tile < tiles; tile++) {
+                    toNode[from * tiles + tile] = distance[tile] < 0 ? NO_PATH : (char) distance[tile];
+                }
+                for (int j = clusterStart[c]; j < clusterStart[c + 1]; j++) {
+                    int to = clusterNodes[j];
+                    int cost = distance[nodeLocal[to]];
+                    if (to != from && cost > 0) builder.edge(from, to, cost);
+                }
+            }
+        }
+
+        // edges grouped by the node they leave from
+        edgeStart = new int[nodeCell.length + 1];
+        for (int e = 0; e < builder.edges; e++) {
+            ++edgeStart[builder.edgeFrom[e] + 1];
+        }
+        for (int node = 0; node < nodeCell.length; node++) {
+            edgeStart[node + 1] += edgeStart[node];
+        }
+        edgeTarget = new int[builder.edges];
+        edgeCost = new int[builder.edges];
+        fill = Arrays.copyOf(edgeStart, nodeCell.length);
+        for (int e = 0; e < builder.edges; e++) {
+            int at = fill[builder.edgeFrom[e]]++;
+            edgeTarget[at] = builder.edgeTo[e];
+            edgeCost[at] = builder.edgeCost[e];
+        }
+    }
+
+    /**
+     * @brief picks the entrance tiles of an opening spanning first .. last along a cluster border
+     */
+    private static int[] entrances(int first, int last) {
+        if (last - first + 1 > MAX_ENTRANCE_WIDTH) return new int[]{first, last};
+        return new int[]{(first + last) / 2};
+    }
+
+    /**
+     * @brief BFS from a tile that never leaves its cluster
+     *
+     * @param map      the maze the graph was built from
+     * @param start    index of the tile
+     * @param distance filled with the distance of every tile of the cluster, -1 if it can't be reached inside it
+     * @param queue    buffer of at least tiles entries
+     */
+    void searchCluster(GridMap map, int start, int[] distance, int[] queue) {
+        // works on positions within the cluster, the map's tile index is only needed for the neighbour masks
+        int mask = clusterSize - 1;
+        int left = start % columns & ~mask;
+        int top = start / columns & ~mask;
+        int width = Math.min(clusterSize, columns - left);
+        int height = Math.min(clusterSize, rows - top);
+        Arrays.fill(distance, -1);
+
+        int head = 0;
+        int tail = 0;
+        int startIndex = localIndex(start);
+        distance[startIndex] = 0;
+        queue[tail++] = startIndex;
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index & mask;
+            int y = index >>> shift;
+            int open = map.neighbourMask((top + y) * columns + left + x);
+            for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+                if ((open & (1 << dir)) == 0) continue;
+                int nx = x + Direction.DX[dir];
+                int ny = y + Direction.DY[dir];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) continue;
+                int neighbourIndex = (ny << shift) | nx;
+                if (distance[neighbourIndex] >= 0) continue;
+                distance[neighbourIndex] = distance[index] + 1;
+                queue[tail++] = neighbourIndex;
+            }
+        }
+    }
+
+    int clusterOf(int cell) {
+        return (cell / columns >> shift) * clustersX + (cell % columns >> shift);
+    }
+
+    /** @return position of the tile within its cluster */
+    int localIndex(int cell) {
+        int mask = clusterSize - 1;
+        return (cell / columns & mask) << shift | cell % columns & mask;
+    }
+
+    /** @return number of nodes */
+    int getNodeCount() { return nodeCell.length; }
+
+    /**
+     * @brief collects nodes and edges while the graph is built
+     */
+    private static final class Builder {
+        private final HashMap<Integer, Integer> nodeOfCell = new HashMap<>();
+        private int[] nodeCells = new int[256];
+        private int nodes;
+        private int[] edgeFrom = new int[1024];
+        private int[] edgeTo = new int[1024];
+        private int[] edgeCost = new int[1024];
+        private int edges;
+
+        private int node(int cell) {
+            Integer known = nodeOfCell.get(cell);
+            if (known != null) return known;
+            if (nodes == nodeCells.length) nodeCells = Arrays.copyOf(nodeCells, nodes * 2);
+            nodeCells[nodes] = cell;
+            nodeOfCell.put(cell, nodes);
+            return nodes++;
+        }
+
+        /** both directions of an entrance */
+        private void link(int cellA, int cellB, int cost) {
+            int a = node(cellA);
+            int b = node(cellB);
+            edge(a, b, cost);
+            edge(b, a, cost);
+        }
+
+        private void edge(int from, int to, int cost) {
+            if (edges == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edges * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edges * 2);
+                edgeCost = Arrays.copyOf(edgeCost, edges * 2);
+            }
+            edgeFrom[edges] = from;
+            edgeTo[edges] = to;
+            edgeCost[edges] = cost;
+            ++edges;
+        }
+    }
+}
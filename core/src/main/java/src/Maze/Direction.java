@@ -0,0 +1,35 @@
+package src.Maze;
+
+/**
+ * @class Direction
+ *
+ * @brief Static table of the four grid directions.
+ *
+ * Directions are plain ints (0-up, 1-right, 2-down, 3-left) indexing into DX/DY, so movement code can
+ * step through them without creating Point objects.
+ */
+public final class Direction {
+
+    public static final int UP = 0;
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+    // no direction - standing still, or nowhere to go
+    public static final int NONE = -1;
+
+    // x and y offsets of each direction
+    public static final int[] DX = {0, 1, 0, -1};
+    public static final int[] DY = {-1, 0, 1, 0};
+
+    private Direction() {
+    }
+
+    /**
+     * @brief get the direction pointing the other way
+     * @param dir one of the four directions
+     * @return the reverse of dir
+     */
+    public static int opposite(int dir) {
+        return (dir + 2) & 3;
+    }
+}
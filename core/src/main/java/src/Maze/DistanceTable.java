@@ -0,0 +1,112 @@
+package src.Maze;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * @class DistanceTable
+ *
+ * @brief All-pairs shortest path table of a map.
+ *
+ * For every (source, target) pair of tiles the table stores the distance between them and the direction
+ * of the first step from source towards target. It is built once per map with one BFS per tile, so asking
+ * for the next step during the game is a single array read.
+ *
+ * Both arrays are flat and indexed by target * cells + source, where a tile's index is y * columns + x.
+ * The table grows with the square of the map area, so it is only built for maps up to MAX_CELLS tiles.
+ */
+public class DistanceTable implements Pathfinder {
+
+    // largest map (in tiles) a table is built for - 2500 tiles take roughly 19MB
+    public static final int MAX_CELLS = 2500;
+
+    private static final Map<GridMap, DistanceTable> TABLES = new WeakHashMap<>();
+
+    private final int columns;
+    private final int cells;
+    private final int version;
+    private final byte[] nextHop;
+    private final short[] distance;
+
+    /**
+     * @brief get the table of the given map, building it on first use and after the map changed
+     *
+     * @param map the maze
+     * @return the shared table of this map, or null if the map is larger than MAX_CELLS
+     */
+    public static synchronized DistanceTable forMap(GridMap map) {
+        if (map.getCells() > MAX_CELLS) return null;
+        DistanceTable table = TABLES.get(map);
+        if (table == null || table.version != map.getVersion()) {
+            table = new DistanceTable(map);
+            TABLES.put(map, table);
+        }
+        return table;
+    }
+
+    /**
+     * @brief Builds the table by running a BFS from every open tile.
+     *
+     * @param map the maze
+     */
+    public DistanceTable(GridMap map) {
+        columns = map.getColumns();
+        cells = map.getCells();
+        version = map.getVersion();
+        nextHop = new byte[cells * cells];
+        distance = new short[cells * cells];
+        Arrays.fill(nextHop, (byte) Direction.NONE);
+        Arrays.fill(distance, (short) -1);
+
+        int[] queue = new int[cells];
+        for (int target = 0; target < cells; target++) {
+            if (map.isWall(target)) continue;
+            fillTarget(map, target, queue);
+        }
+    }
+
+    /**
+     * @brief BFS outwards from the target - the tile we came from is the next hop towards the target
+     */
+    private void fillTarget(GridMap map, int target, int[] queue) {
+        int base = target * cells;
+        int head = 0, tail = 0;
+        distance[base + target] = 0;
+        queue[tail++] = target;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int open = map.neighbourMask(current);
+            for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+                if ((open & (1 << dir)) == 0) continue;
+                int next = map.neighbour(current, dir);
+                if (distance[base + next] >= 0) continue;
+                distance[base + next] = (short) (distance[base + current] + 1);
+                // from the neighbour the way back is the opposite direction
+                nextHop[base + next] = (byte) Direction.opposite(dir);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * @brief direction of the first step on a shortest path
+     *
+     * @return one of the Direction constants, Direction.NONE if the target is unreachable or already reached
+     */
+    @Override
+    public int nextDirection(int fromX, int fromY, int toX, int toY) {
+        return nextHop[(toY * columns + toX) * cells + fromY * columns + fromX];
+    }
+
+    /**
+     * @brief length of the shortest path between two tiles
+     *
+     * @return number of steps, or -1 if the target is unreachable
+     */
+    @Override
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        return distance[(toY * columns + toX) * cells + fromY * columns + fromX];
+    }
+}
@@ -0,0 +1,213 @@
+package src.Maze;
+
+/**
+ * @class GridMap
+ *
+ * @brief Compact maze representation - one bit per tile plus a cached mask of open neighbours.
+ *
+ * The walls are stored in a flat long[] bitset laid out row by row. The grid is padded with a one tile
+ * thick border of walls, so asking about a tile just outside the map (which is all a single step can
+ * reach) needs no bounds check - it simply reads a wall bit.
+ * For every tile the map also caches which of its four neighbours are open, indexed by Direction.
+ *
+ * Tiles are addressed either by (x, y) or by their index y * columns + x, which is what the pathfinding
+ * tables use.
+ */
+public class GridMap {
+
+    private final int rows;
+    private final int columns;
+    private final int stride;
+    private final long[] walls;
+    private final byte[] neighbours;
+    // offset of the neighbouring tile index for every direction
+    private final int[] indexOffset;
+    // bumped on every change, lets caches built from the map notice they are stale
+    private int version;
+
+    /**
+     * @brief Constructs a map out of a 0/1 grid.
+     *
+     * @param grid rows of the maze, 1 marks a wall
+     */
+    public GridMap(int[][] grid) {
+        this(grid.length, grid[0].length);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                if (grid[y][x] == 1) setBit(x, y, true);
+            }
+        }
+        rebuildNeighbours();
+    }
+
+    /**
+     * @brief Constructs a map of the given size with no walls inside it.
+     *
+     * @param rows    height of the map in tiles
+     * @param columns width of the map in tiles
+     */
+    public GridMap(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = columns + 2;
+        this.walls = new long[(int) (((long) stride * (rows + 2) + 63) >>> 6)];
+        this.neighbours = new byte[rows * columns];
+        this.indexOffset = new int[]{-columns, 1, columns, -1};
+
+        // wall off the padding around the map
+        for (int x = -1; x <= columns; x++) {
+            setBit(x, -1, true);
+            setBit(x, rows, true);
+        }
+        for (int y = 0; y < rows; y++) {
+            setBit(-1, y, true);
+            setBit(columns, y, true);
+        }
+        rebuildNeighbours();
+    }
+
+    /**
+     * @brief checks whether the given tile is a wall
+     *
+     * Tiles directly outside the map count as walls; x must be within [-1, columns] and y within [-1, rows].
+     *
+     * @param x column of the tile
+     * @param y row of the tile
+     * @return true for walls and the border around the map
+     */
+    public boolean isWall(int x, int y) {
+        int bit = (y + 1) * stride + x + 1;
+        return (walls[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @brief builds or removes a wall, keeping the neighbour masks up to date
+     *
+     * @param x    column of the tile
+     * @param y    row of the tile
+     * @param wall whether the tile should become a wall
+     */
+    public void setWall(int x, int y, boolean wall) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            throw new IndexOutOfBoundsException("Tile (" + x + ", " + y + ") is outside the map");
+        }
+        if (isWall(x, y) == wall) return;
+        setBit(x, y, wall);
+        updateNeighbours(x, y);
+        for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+            int nx = x + Direction.DX[dir];
+            int ny = y + Direction.DY[dir];
+            if (nx >= 0 && nx < columns && ny >= 0 && ny < rows) updateNeighbours(nx, ny);
+        }
+        ++version;
+    }
+
+    /**
+     * @brief get the open neighbours of a tile
+     *
+     * @param cell index of the tile
+     * @return bit mask with bit Direction.X set when the neighbour in direction X is not a wall
+     */
+    public int neighbourMask(int cell) {
+        return neighbours[cell];
+    }
+
+    /**
+     * @brief get the index of the neighbouring tile, only valid for directions present in neighbourMask()
+     *
+     * @param cell index of the tile
+     * @param dir  one of the four directions
+     * @return index of the neighbour
+     */
+    public int neighbour(int cell, int dir) {
+        return cell + indexOffset[dir];
+    }
+
+    /**
+     * @brief checks whether the tile with the given index is a wall
+     * @param cell index of the tile
+     * @return whether the tile is a wall
+     */
+    public boolean isWall(int cell) {
+        return isWall(cell % columns, cell / columns);
+    }
+
+    /** @return index of the tile at (x, y) */
+    public int cellIndex(int x, int y) { return y * columns + x; }
+
+    /** @return number of rows of the map */
+    public int getRows() { return rows; }
+
+    /** @return number of columns of the map */
+    public int getColumns() { return columns; }
+
+    /** @return number of tiles in the map */
+    public int getCells() { return rows * columns; }
+
+    /** @return modification counter, changes whenever a wall is built or removed */
+    public int getVersion() { return version; }
+
+    /**
+     * @brief finds the open tile closest to the given position, used to place entities on arbitrary maps
+     *
+     * @param x column to start searching from, clamped into the map
+     * @param y row to start searching from, clamped into the map
+     * @return index of the nearest open tile (by rings of growing distance), or -1 if the map is all walls
+     */
+    public int nearestOpen(int x, int y) {
+        x = Math.max(0, Math.min(columns - 1, x));
+        y = Math.max(0, Math.min(rows - 1, y));
+        int maxRadius = Math.max(rows, columns);
+        for (int radius = 0; radius <= maxRadius; radius++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                int ny = y + dy;
+                if (ny < 0 || ny >= rows) continue;
+                // only the ring at exactly this radius, the inside was searched already
+                int step = (dy == -radius || dy == radius) ? 1 : 2 * radius;
+                for (int dx = -radius; dx <= radius; dx += Math.max(1, step)) {
+                    int nx = x + dx;
+                    if (nx >= 0 && nx < columns && !isWall(nx, ny)) return cellIndex(nx, ny);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @brief marks a tile as a wall without updating the neighbour masks - used for bulk loading,
+     * which has to finish with finishLoading()
+     */
+    void loadWall(int x, int y) {
+        setBit(x, y, true);
+    }
+
+    /**
+     * @brief rebuilds the neighbour masks after bulk loading
+     */
+    void finishLoading() {
+        rebuildNeighbours();
+        ++version;
+    }
+
+    private void setBit(int x, int y, boolean wall) {
+        int bit = (y + 1) * stride + x + 1;
+        if (wall) walls[bit >>> 6] |= 1L << bit;
+        else walls[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private void rebuildNeighbours() {
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                updateNeighbours(x, y);
+            }
+        }
+    }
+
+    private void updateNeighbours(int x, int y) {
+        int mask = 0;
+        for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+            if (!isWall(x + Direction.DX[dir], y + Direction.DY[dir])) mask |= 1 << dir;
+        }
+        neighbours[y * columns + x] = (byte) mask;
+    }
+}
@@ -0,0 +1,334 @@
+package src.Maze;
+
+import java.util.Arrays;
+
+/**
+ * @class HierarchicalPathfinder
+ *
+ * @brief Near-shortest paths on maps too large for a DistanceTable, using hierarchical pathfinding (HPA*).
+ *
+ * The map's ClusterGraph - square clusters of tiles linked through the entrances between them - is built once
+ * per map and shared. A query only looks at single tiles within the start's cluster, and the goal's. In between
+ * it searches the abstract graph, backwards from the goal, so every node the search settles knows its exact
+ * distance to the goal. That search is kept for the most recently asked goals and resumed rather than
+ * restarted: every ghost chasing the same player reuses it, and a ghost whose nodes were already settled gets
+ * its answer without searching at all. A step is only refined to the first open neighbour closer to the goal -
+ * so the cost of a query grows with the length of the abstract path rather than the map's area, and the answer
+ * doesn't depend on which queries came before it.
+ *
+ * Ways between clusters have to pass through entrances, so a path may be a few steps longer than the shortest
+ * one. distance() is only an upper bound of the path nextDirection() leads along: every step goes to a
+ * neighbour whose distance is smaller, but a neighbour in another cluster may use a different entrance and be
+ * more than one step closer - following the steps never takes longer than distance() said, and sometimes a few
+ * steps less. A pathfinder belongs to one game, and every thread asking it keeps searches of its own, so queries may
+ * run concurrently without waiting for each other - and games on the same map share nothing but the graph.
+ */
+public class HierarchicalPathfinder implements Pathfinder {
+
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+    // number of goals whose abstract search each thread keeps
+    public static final int CACHED_SEARCHES = 8;
+    private static final int UNREACHABLE = -1;
+    private static final char NO_PATH = ClusterGraph.NO_PATH;
+
+    private final GridMap map;
+    private final ClusterGraph graph;
+    private final int columns;
+    private final int tiles;
+    private final ThreadLocal<Queries> queries;
+
+    /**
+     * @brief get a pathfinder for one game on the given map, over the map's shared graph
+     *
+     * The graph is built on first use and after the map changed, the searches belong to the returned
+     * pathfinder alone.
+     *
+     * @param map the maze
+     * @return a new pathfinder
+     */
+    public static HierarchicalPathfinder forMap(GridMap map) {
+        return new HierarchicalPathfinder(map, ClusterGraph.forMap(map));
+    }
+
+    /**
+     * @brief Builds the abstract graph of the map and a pathfinder over it.
+     *
+     * @param map         the maze, later changes to it are not picked up - use forMap() to follow them
+     * @param clusterSize width and height of a cluster in tiles, a power of two
+     */
+    public HierarchicalPathfinder(GridMap map, int clusterSize) {
+        this(map, new ClusterGraph(map, clusterSize));
+    }
+
+    private HierarchicalPathfinder(GridMap map, ClusterGraph graph) {
+        this.map = map;
+        this.graph = graph;
+        this.columns = graph.columns;
+        this.tiles = graph.tiles;
+        this.queries = ThreadLocal.withInitial(() -> new Queries(graph.tiles));
+    }
+
+    @Override
+    public int nextDirection(int fromX, int fromY, int toX, int toY) {
+        return (int) search(fromX, fromY, toX, toY, true);
+    }
+
+    @Override
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        return (int) (search(fromX, fromY, toX, toY, false) >> 32);
+    }
+
+    /**
+     * @brief finds the path between two tiles
+     * @param step whether the first step is needed as well as the distance
+     * @return distance in the upper and direction of the first step in the lower 32 bits
+     */
+    long search(int fromX, int fromY, int toX, int toY, boolean step) {
+        if (map.isWall(fromX, fromY) || map.isWall(toX, toY)) return result(UNREACHABLE, Direction.NONE);
+        int from = fromY * columns + fromX;
+        int to = toY * columns + toX;
+        if (from == to) return result(0, Direction.NONE);
+
+        Queries q = queries.get();
+        // the goal's cluster is searched tile by tile only if the start or one of its neighbours is in it
+        q.goalSearched = false;
+        Search search = q.searchFor(to, graph.getNodeCount());
+        if (!search.started) start(search, from);
+        int distance = distanceToGoal(search, from, Integer.MAX_VALUE, q);
+        if (distance == Integer.MAX_VALUE) return result(UNREACHABLE, Direction.NONE);
+        if (!step) return result(distance, Direction.NONE);
+
+        // shortest ways tie a lot, and which one the search found first depends on the queries before -
+        // the first neighbour closer to the goal is the same whoever asked first
+        int open = map.neighbourMask(from);
+        for (int dir = Direction.UP; dir <= Direction.LEFT; dir++) {
+            if ((open & (1 << dir)) == 0) continue;
+            if (distanceToGoal(search, map.neighbour(from, dir), distance, q) < distance) {
+                return result(distance, dir);
+            }
+        }
+        return result(distance, Direction.NONE);
+    }
+
+    /**
+     * @brief length of the shortest way from a tile to the search's goal
+     *
+     * Ways leave a cluster only through its nodes, or stay inside it when the tile shares its cluster with the
+     * goal. The search is resumed until no node left in its heap could offer a shorter way - its heuristic aims
+     * at the search's first start, for any other tile it is off by at most the distance between the two.
+     *
+     * @param limit distances of limit or more don't need to be exact, the search stops once it is sure of that
+     * @return the distance, Integer.MAX_VALUE if the goal can't be reached
+     */
+    private int distanceToGoal(Search search, int cell, int limit, Queries q) {
+        if (cell == search.goal) return 0;
+        int cluster = graph.clusterOf(cell);
+        int index = graph.localIndex(cell);
+        int distance = shortestThroughCluster(search, cluster, index);
+        if (cluster == graph.clusterOf(search.goal)) {
+            if (!q.goalSearched) graph.searchCluster(map, search.goal, q.goalDistance, q.queue);
+            q.goalSearched = true;
+            if (q.goalDistance[index] >= 0) distance = Math.min(distance, q.goalDistance[index]);
+        }
+        int offset = Math.abs(cell % columns - search.targetX) + Math.abs(cell / columns - search.targetY);
+        while (search.heapSize > 0 && search.lowestEstimate() - offset < Math.min(distance, limit)) {
+            int node = expand(search);
+            if (node < 0 || graph.clusterOf(graph.nodeCell[node]) != cluster) continue;
+            char path = graph.toNode[node * tiles + index];
+            if (path != NO_PATH) distance = Math.min(distance, path + search.cost[node]);
+        }
+        return distance;
+    }
+
+    /**
+     * @brief seeds a new search with the goal cluster's nodes, aimed at the first start asking for it
+     *
+     * Manhattan distance to that start is the search's heuristic for good - it never overestimates an edge, so
+     * nodes are settled with their exact distance whichever start later asks for them.
+     */
+    private void start(Search search, int from) {
+        search.targetX = from % columns;
+        search.targetY = from / columns;
+        search.started = true;
+        int goalCluster = graph.clusterOf(search.goal);
+        int goalIndex = graph.localIndex(search.goal);
+        for (int i = graph.clusterStart[goalCluster]; i < graph.clusterStart[goalCluster + 1]; i++) {
+            int node = graph.clusterNodes[i];
+            char path = graph.toNode[node * tiles + goalIndex];
+            if (path == NO_PATH) continue;
+            int distance = path;
+            search.seen[node] = search.generation;
+            search.cost[node] = distance;
+            search.push(distance, heuristic(search, node), node);
+        }
+    }
+
+    /**
+     * @return length of the shortest way from a tile through the settled nodes of its cluster to the goal
+     */
+    private int shortestThroughCluster(Search search, int cluster, int tileIndex) {
+        int distance = Integer.MAX_VALUE;
+        for (int i = graph.clusterStart[cluster]; i < graph.clusterStart[cluster + 1]; i++) {
+            int node = graph.clusterNodes[i];
+            char path = graph.toNode[node * tiles + tileIndex];
+            if (path == NO_PATH || search.settled[node] != search.generation) continue;
+            distance = Math.min(distance, path + search.cost[node]);
+        }
+        return distance;
+    }
+
+    /**
+     * @brief settles the node with the lowest estimate and relaxes its edges
+     * @return the settled node, -1 if the heap only held an outdated entry
+     */
+    private int expand(Search search) {
+        int generation = search.generation;
+        int node = search.pop();
+        if (search.settled[node] == generation) return -1;
+        search.settled[node] = generation;
+        for (int e = graph.edgeStart[node]; e < graph.edgeStart[node + 1]; e++) {
+            int neighbour = graph.edgeTarget[e];
+            int cost = search.cost[node] + graph.edgeCost[e];
+            if (search.seen[neighbour] == generation && cost >= search.cost[neighbour]) continue;
+            search.seen[neighbour] = generation;
+            search.cost[neighbour] = cost;
+            search.push(cost, heuristic(search, neighbour), neighbour);
+        }
+        return node;
+    }
+
+    private int heuristic(Search search, int node) {
+        int cell = graph.nodeCell[node];
+        return Math.abs(cell % columns - search.targetX) + Math.abs(cell / columns - search.targetY);
+    }
+
+    private static long result(int distance, int direction) {
+        return ((long) distance << 32) | (direction & 0xFFFFFFFFL);
+    }
+
+    /** @return number of nodes of the abstract graph */
+    public int getNodeCount() { return graph.getNodeCount(); }
+
+    /**
+     * @brief the searches and buffers of one thread, so queries neither wait for other threads nor allocate
+     */
+    private static final class Queries {
+        private final Search[] searches = new Search[CACHED_SEARCHES];
+        private long uses;
+        final int[] goalDistance;
+        boolean goalSearched;   //whether goalDistance holds the current query's goal cluster
+        final int[] queue;
+
+        Queries(int tiles) {
+            goalDistance = new int[tiles];
+            queue = new int[tiles];
+        }
+
+        /**
+         * @brief get the search towards the given goal, taking over the least recently used one if there is none yet
+         */
+        Search searchFor(int goal, int nodes) {
+            Search found = null;
+            for (Search search : searches) {
+                if (search != null && search.goal == goal) found = search;
+            }
+            if (found == null) {
+                int slot = 0;
+                for (int i = 0; i < searches.length; i++) {
+                    if (searches[i] == null) {
+                        slot = i;
+                        break;
+                    }
+                    if (searches[i].lastUse < searches[slot].lastUse) slot = i;
+                }
+                if (searches[slot] == null) searches[slot] = new Search(nodes);
+                found = searches[slot];
+                found.reset(goal);
+            }
+            found.lastUse = ++uses;
+            return found;
+        }
+    }
+
+    /**
+     * @brief a resumable backward search on the abstract graph towards one goal tile
+     */
+    private static final class Search {
+        int goal = -1;
+        boolean started;
+        long lastUse;
+        int targetX;
+        int targetY;
+        // state of node n is valid where seen[n] / settled[n] equal the generation, so reset() needs no clearing
+        int generation;
+        final int[] seen;
+        final int[] settled;
+        final int[] cost;
+        // binary min-heap of (cost + heuristic, heuristic) keys and their nodes
+        long[] heapKey = new long[256];
+        int[] heapNode = new int[256];
+        int heapSize;
+
+        Search(int nodes) {
+            seen = new int[nodes];
+            settled = new int[nodes];
+            cost = new int[nodes];
+        }
+
+        void reset(int newGoal) {
+            goal = newGoal;
+            started = false;
+            ++generation;
+            heapSize = 0;
+        }
+
+        /**
+         * @brief adds a node to the heap
+         *
+         * Nodes are taken in order of cost + heuristic, ties go to the one closer to the target - on open maps
+         * lots of nodes tie, and taking the deepest first keeps the search from fanning out over all of them.
+         */
+        void push(int cost, int heuristic, int node) {
+            if (heapSize == heapKey.length) {
+                heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+                heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+            }
+            long key = ((long) (cost + heuristic) << 32) | heuristic;
+            int at = heapSize++;
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (heapKey[parent] <= key) break;
+                heapKey[at] = heapKey[parent];
+                heapNode[at] = heapNode[parent];
+                at = parent;
+            }
+            heapKey[at] = key;
+            heapNode[at] = node;
+        }
+
+        /** @return cost + heuristic of the first node in the heap */
+        int lowestEstimate() {
+            return (int) (heapKey[0] >>> 32);
+        }
+
+        /** removes the node with the lowest key from the heap */
+        int pop() {
+            int top = heapNode[0];
+            long lastKey = heapKey[--heapSize];
+            int lastNode = heapNode[heapSize];
+            int at = 0;
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) ++child;
+                if (heapKey[child] >= lastKey) break;
+                heapKey[at] = heapKey[child];
+                heapNode[at] = heapNode[child];
+                at = child;
+            }
+            heapKey[at] = lastKey;
+            heapNode[at] = lastNode;
+            return top;
+        }
+    }
+}
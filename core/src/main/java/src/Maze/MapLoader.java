@@ -0,0 +1,228 @@
+package src.Maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @class MapLoader
+ *
+ * @brief Reads and writes maze files.
+ *
+ * Two formats are understood, told apart by their first bytes:
+ *  - text: one line per row, '#' or '1' is a wall, any other character ('.', '0', ' ') is a path.
+ *    All rows must have the same width, empty lines at the end of the file are ignored.
+ *  - binary: the magic "PMAP", a format version, the number of columns and rows (big-endian ints),
+ *    followed by one bit per tile in row-major order, least significant bit first, 1 being a wall.
+ *
+ * Files are read through a FileChannel; files above MMAP_THRESHOLD bytes are memory-mapped instead of
+ * being copied onto the heap, so even 1000x1000+ mazes load without large temporary buffers or Strings.
+ */
+public class MapLoader {
+
+    // system property naming the maze file the game should be played on
+    public static final String MAP_PROPERTY = "pacman.map";
+    // files larger than this are memory-mapped
+    public static final long MMAP_THRESHOLD = 1 << 20;
+
+    private static final int MAGIC = 0x504D4150; // "PMAP"
+    private static final int BINARY_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private MapLoader() {
+    }
+
+    /**
+     * @brief get the map the game should be played on
+     *
+     * @param defaultMap map used when no file is configured
+     * @return the map from the file named by the pacman.map property, or defaultMap if it is not set
+     * @throws IOException if the configured file cannot be read or is malformed
+     */
+    public static GridMap loadConfigured(int[][] defaultMap) throws IOException {
+        String file = System.getProperty(MAP_PROPERTY);
+        if (file == null || file.isEmpty()) return new GridMap(defaultMap);
+        return load(Paths.get(file));
+    }
+
+    /**
+     * @brief loads a maze file in either format
+     *
+     * @param path the file to read
+     * @return the loaded map
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static GridMap load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer;
+            if (size > MMAP_THRESHOLD) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep reading until the whole file is in
+                }
+                buffer.flip();
+            }
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.remaining() >= HEADER_SIZE && buffer.getInt(0) == MAGIC) {
+                return parseBinary(buffer, path.toString());
+            }
+            return parseText(buffer, path);
+        }
+    }
+
+    /**
+     * @brief writes a map in the binary format
+     *
+     * @param map  the map to save
+     * @param path the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeBinary(GridMap map, Path path) throws IOException {
+        ByteBuffer buffer = toBinary(map);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @brief encodes a map in the binary format, e.g. to embed it in another file
+     *
+     * @param map the map to encode
+     * @return buffer holding the encoded map, positioned at its start
+     */
+    public static ByteBuffer toBinary(GridMap map) {
+        int rows = map.getRows();
+        int columns = map.getColumns();
+        long bits = (long) rows * columns;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (int) ((bits + 7) >>> 3));
+        buffer.putInt(MAGIC).putInt(BINARY_VERSION).putInt(columns).putInt(rows);
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                if (!map.isWall(x, y)) continue;
+                long bit = (long) y * columns + x;
+                int at = HEADER_SIZE + (int) (bit >>> 3);
+                buffer.put(at, (byte) (buffer.get(at) | (1 << (bit & 7))));
+            }
+        }
+        buffer.rewind();
+        return buffer;
+    }
+
+    /**
+     * @brief decodes a map in the binary format
+     *
+     * @param buffer the encoded map, starting at index 0
+     * @param source name of where the data came from, for error messages
+     * @return the decoded map
+     * @throws IOException if the data is not a valid binary map
+     */
+    public static GridMap fromBinary(ByteBuffer buffer, String source) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(source + ": not a binary map");
+        }
+        return parseBinary(buffer, source);
+    }
+
+    /**
+     * @brief converts a maze file into the binary format
+     * @param args input file and output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: MapLoader <input map> <output .pmap>");
+            return;
+        }
+        GridMap map = load(Paths.get(args[0]));
+        writeBinary(map, Paths.get(args[1]));
+        System.out.println("Wrote " + map.getColumns() + "x" + map.getRows() + " map to " + args[1]);
+    }
+
+    private static GridMap parseBinary(ByteBuffer buffer, String path) throws IOException {
+        int version = buffer.getInt(4);
+        int columns = buffer.getInt(8);
+        int rows = buffer.getInt(12);
+        if (version != BINARY_VERSION) {
+            throw new IOException(path + ": unsupported map format version " + version);
+        }
+        long bits = (long) rows * columns;
+        if (rows <= 0 || columns <= 0 || buffer.limit() < HEADER_SIZE + ((bits + 7) >>> 3)) {
+            throw new IOException(path + ": truncated map file");
+        }
+
+        GridMap map = new GridMap(rows, columns);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                long bit = (long) y * columns + x;
+                if ((buffer.get(HEADER_SIZE + (int) (bit >>> 3)) & (1 << (bit & 7))) != 0) map.loadWall(x, y);
+            }
+        }
+        map.finishLoading();
+        return map;
+    }
+
+    private static GridMap parseText(ByteBuffer buffer, Path path) throws IOException {
+        // first pass - measure the grid without creating any Strings
+        int limit = buffer.limit();
+        int columns = -1;
+        int rows = 0;
+        int lineStart = 0;
+        boolean gap = false;
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') continue;
+            int width = lineWidth(buffer, lineStart, i);
+            if (width > 0) {
+                if (gap) throw new IOException(path + ": empty row " + (rows + 1));
+                if (columns == -1) columns = width;
+                else if (width != columns) {
+                    throw new IOException(path + ": row " + (rows + 1) + " is " + width
+                            + " tiles wide, expected " + columns);
+                }
+                ++rows;
+            } else if (columns != -1) {
+                // only fine if no more rows follow
+                gap = true;
+            }
+            lineStart = i + 1;
+        }
+        if (rows == 0) throw new IOException(path + ": map file is empty");
+
+        // second pass - fill in the walls
+        GridMap map = new GridMap(rows, columns);
+        int y = 0;
+        lineStart = 0;
+        for (int i = 0; i <= limit && y < rows; i++) {
+            if (i < limit && buffer.get(i) != '\n') continue;
+            int width = lineWidth(buffer, lineStart, i);
+            if (width > 0) {
+                for (int x = 0; x < width; x++) {
+                    byte tile = buffer.get(lineStart + x);
+                    if (tile == '#' || tile == '1') map.loadWall(x, y);
+                }
+                ++y;
+            }
+            lineStart = i + 1;
+        }
+        map.finishLoading();
+        return map;
+    }
+
+    /**
+     * @brief width of the line between start and end, not counting a trailing carriage return
+     */
+    private static int lineWidth(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') --end;
+        return end - start;
+    }
+}
@@ -0,0 +1,241 @@
+package src.Maze;
+
+import src.Diagnostics.Counter;
+import src.Diagnostics.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * @class PathCache
+ *
+ * @brief Bounded LRU cache of path answers keyed by (source tile, target tile), in front of a HierarchicalPathfinder.
+ *
+ * Chasing ghosts ask the same questions over and over - every ghost standing on a tile it or another ghost
+ * already asked from while the player keeps still, and Flight Recorder asking for the path length right after
+ * the move. Each question is answered by the pathfinder once, afterwards the distance and the first step come
+ * from the cache. Entries are shared by all ghosts of a game and kept across ticks, the least recently used
+ * ones are dropped once the cache is full, and everything is dropped when the map changes.
+ *
+ * The hierarchical pathfinder's answers don't depend on which queries came before, so a cached answer is the
+ * one it would give again. A DistanceTable is a table lookup already and isn't put behind a cache.
+ * Every game has a cache of its own, which only takes memory as it fills. Lookups from the game's tick
+ * workers may run concurrently - the cache is split into segments with a lock each.
+ */
+public class PathCache implements Pathfinder {
+
+    // number of (source, target) answers kept by a game
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    // independently locked parts, a power of two
+    private static final int SEGMENTS = 16;
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private static final Counter HITS = Metrics.counter("path.cache.hits");
+    private static final Counter MISSES = Metrics.counter("path.cache.misses");
+
+    private final GridMap map;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private volatile HierarchicalPathfinder pathfinder;
+    private volatile int version;
+
+    /**
+     * @brief Constructs an empty cache in front of a HierarchicalPathfinder of its own over the map's graph.
+     *
+     * @param map      the maze, changes to it empty the cache
+     * @param capacity number of answers kept
+     */
+    public PathCache(GridMap map, int capacity) {
+        this.map = map;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(1, capacity / SEGMENTS));
+        }
+        invalidate();
+    }
+
+    @Override
+    public int nextDirection(int fromX, int fromY, int toX, int toY) {
+        return (int) route(fromX, fromY, toX, toY);
+    }
+
+    @Override
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        return (int) (route(fromX, fromY, toX, toY) >> 32);
+    }
+
+    /**
+     * @brief looks the path up, asking the pathfinder on a miss
+     * @return distance in the upper and direction of the first step in the lower 32 bits
+     */
+    private long route(int fromX, int fromY, int toX, int toY) {
+        if (version != map.getVersion()) invalidate();
+        // walls and tiles off the board aren't worth a slot, the pathfinder turns them down straight away
+        if (map.isWall(fromX, fromY) || map.isWall(toX, toY)) return pathfinder.search(fromX, fromY, toX, toY, true);
+        int columns = map.getColumns();
+        long key = ((long) (fromY * columns + fromX) << 32) | (toY * columns + toX);
+        long hash = mix(key);
+        Segment segment = segments[(int) hash & (SEGMENTS - 1)];
+        long path = segment.get(key, hash);
+        if (path != MISSING) {
+            HITS.increment();
+            return path;
+        }
+        MISSES.increment();
+        path = pathfinder.search(fromX, fromY, toX, toY, true);
+        segment.put(key, hash, path);
+        return path;
+    }
+
+    /**
+     * @brief drops every cached answer and picks up the pathfinder of the map as it is now
+     */
+    private synchronized void invalidate() {
+        if (pathfinder != null && version == map.getVersion()) return;
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        pathfinder = HierarchicalPathfinder.forMap(map);
+        version = map.getVersion();
+    }
+
+    /** @return number of answers currently cached */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @brief spreads the bits of a key, the low ones pick the segment and the high ones the slot
+     */
+    private static long mix(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return z ^ (z >>> 29);
+    }
+
+    /**
+     * @brief one part of the cache - an open addressing table of entries kept in a most to least recently used list
+     */
+    private static final class Segment {
+        // entries a segment starts with, it doubles up to its capacity as it fills
+        private static final int INITIAL_ENTRIES = 64;
+
+        private final int capacity;
+        private long[] keys;
+        private long[] paths;
+        private int[] newer;   //neighbours of each entry in the usage list, -1 at its ends
+        private int[] older;
+        private int[] slots;   //entry + 1 of every slot of the table, 0 for free slots
+        private int mask;
+        private int size;
+        private int newest = -1;
+        private int oldest = -1;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            resize(Math.min(capacity, INITIAL_ENTRIES));
+        }
+
+        /**
+         * @brief makes room for the given number of entries, keeping the ones there are
+         */
+        private void resize(int entries) {
+            keys = keys == null ? new long[entries] : Arrays.copyOf(keys, entries);
+            paths = paths == null ? new long[entries] : Arrays.copyOf(paths, entries);
+            newer = newer == null ? new int[entries] : Arrays.copyOf(newer, entries);
+            older = older == null ? new int[entries] : Arrays.copyOf(older, entries);
+            // at most half full, so probe sequences stay short
+            slots = new int[Integer.highestOneBit(entries) * 4];
+            mask = slots.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                slots[find(keys[entry], mix(keys[entry]))] = entry + 1;
+            }
+        }
+
+        synchronized long get(long key, long hash) {
+            int slot = find(key, hash);
+            if (slots[slot] == 0) return MISSING;
+            int entry = slots[slot] - 1;
+            unlink(entry);
+            linkNewest(entry);
+            return paths[entry];
+        }
+
+        synchronized void put(long key, long hash, long path) {
+            int slot = find(key, hash);
+            int entry = slots[slot] - 1;
+            if (entry >= 0) {
+                unlink(entry);
+            } else {
+                if (size < capacity) {
+                    if (size == keys.length) {
+                        resize(Math.min(capacity, size * 2));
+                        slot = find(key, hash);
+                    }
+                    entry = size++;
+                } else {
+                    entry = oldest;
+                    unlink(entry);
+                    free(find(keys[entry], mix(keys[entry])));
+                    // freeing may have shifted the slot the new key goes to
+                    slot = find(key, hash);
+                }
+                keys[entry] = key;
+                slots[slot] = entry + 1;
+            }
+            paths[entry] = path;
+            linkNewest(entry);
+        }
+
+        synchronized void clear() {
+            Arrays.fill(slots, 0);
+            size = 0;
+            newest = -1;
+            oldest = -1;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /** @return the slot holding the key, or the free slot it would go to */
+        private int find(long key, long hash) {
+            int slot = (int) (hash >>> 32) & mask;
+            while (slots[slot] != 0 && keys[slots[slot] - 1] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * @brief empties a slot, moving later entries of the same probe sequence back so they can still be found
+         */
+        private void free(int slot) {
+            slots[slot] = 0;
+            for (int next = (slot + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+                int home = (int) (mix(keys[slots[next] - 1]) >>> 32) & mask;
+                // the entry may only move back if its home slot isn't between the freed slot and itself
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    slots[slot] = slots[next];
+                    slots[next] = 0;
+                    slot = next;
+                }
+            }
+        }
+
+        private void unlink(int entry) {
+            if (newer[entry] >= 0) older[newer[entry]] = older[entry];
+            else newest = older[entry];
+            if (older[entry] >= 0) newer[older[entry]] = newer[entry];
+            else oldest = newer[entry];
+        }
+
+        private void linkNewest(int entry) {
+            newer[entry] = -1;
+            older[entry] = newest;
+            if (newest >= 0) newer[newest] = entry;
+            newest = entry;
+            if (oldest < 0) oldest = entry;
+        }
+    }
+}
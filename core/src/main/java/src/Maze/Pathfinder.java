@@ -0,0 +1,26 @@
+package src.Maze;
+
+/**
+ * @brief Answers shortest path questions between two tiles of a map.
+ *
+ * Implementations must allow concurrent queries, as chasing ghosts ask from the tick's worker threads.
+ */
+public interface Pathfinder {
+
+    /**
+     * @brief direction of the first step on a shortest path
+     *
+     * @return one of the Direction constants, Direction.NONE if the target is unreachable or already reached
+     */
+    int nextDirection(int fromX, int fromY, int toX, int toY);
+
+    /**
+     * @brief length of the path between two tiles
+     *
+     * Exact for a DistanceTable. A HierarchicalPathfinder only promises an upper bound: following nextDirection()
+     * from the start never takes more steps than this, but may take fewer.
+     *
+     * @return number of steps, or -1 if the target is unreachable
+     */
+    int distance(int fromX, int fromY, int toX, int toY);
+}
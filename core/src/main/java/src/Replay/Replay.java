@@ -0,0 +1,169 @@
+package src.Replay;
+
+import src.Engine.GameEngine;
+import src.Maze.GridMap;
+import src.Maze.MapLoader;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * @class Replay
+ *
+ * @brief Everything needed to play a recorded game again, tick for tick.
+ *
+ * A game is determined by its map, its seed and the player's inputs, so that is all a replay stores, together
+ * with the recorded outcome to check the re-simulation against. Only changes of direction are kept, as the
+ * number of ticks since the previous change, so a replay is a few bytes per keypress however long the game.
+ *
+ * File layout (big-endian):
+ *  - header: magic "PRPL", format version, the seed as a long, and the length of the map in bytes
+ *  - the map in MapLoader's binary format
+ *  - the number of ticks and the final score as varints
+ *  - the number of inputs as a varint, then for each input the ticks since the previous one as a varint and
+ *    the new direction + 1 as a byte (0 - stop, 1 - up, 2 - right, 3 - down, 4 - left)
+ *
+ * Replays always use the default set of ghosts.
+ */
+public final class Replay {
+
+    private static final int MAGIC = 0x5052504C; // "PRPL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    private final long seed;
+    private final GridMap map;
+    private final long ticks;
+    private final int score;
+    private final long[] inputTicks;
+    private final byte[] inputDirections;
+
+    /**
+     * @brief Constructs a replay, use ReplayRecorder to record one.
+     *
+     * @param seed            seed of the game
+     * @param map             the maze the game was played on
+     * @param ticks           number of ticks the game lasted
+     * @param score           final score of the player
+     * @param inputTicks      tick in which each input was applied, ascending
+     * @param inputDirections direction set by each input
+     */
+    public Replay(long seed, GridMap map, long ticks, int score, long[] inputTicks, byte[] inputDirections) {
+        this.seed = seed;
+        this.map = map;
+        this.ticks = ticks;
+        this.score = score;
+        this.inputTicks = inputTicks;
+        this.inputDirections = inputDirections;
+    }
+
+    /**
+     * @brief starts the recorded game from its beginning
+     * @return a new game in the same state the recorded one started in
+     */
+    public GameEngine newGame() {
+        GameEngine engine = new GameEngine(map, seed);
+        engine.addDefaultGhosts();
+        return engine;
+    }
+
+    /**
+     * @brief reads a replay file
+     * @param path the file to read
+     * @return the replay
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public static Replay read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException(path + ": not a replay");
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) throw new IOException(path + ": unsupported replay format version " + version);
+            long seed = buffer.getLong();
+            int mapLength = buffer.getInt();
+            GridMap map = MapLoader.fromBinary(buffer.slice(HEADER_SIZE, mapLength), path.toString());
+            buffer.position(HEADER_SIZE + mapLength);
+
+            long ticks = getVarint(buffer);
+            int score = (int) getVarint(buffer);
+            int inputs = (int) getVarint(buffer);
+            long[] inputTicks = new long[inputs];
+            byte[] inputDirections = new byte[inputs];
+            long tick = 0;
+            for (int i = 0; i < inputs; i++) {
+                tick += getVarint(buffer);
+                inputTicks[i] = tick;
+                inputDirections[i] = (byte) (buffer.get() - 1);
+            }
+            return new Replay(seed, map, ticks, score, inputTicks, inputDirections);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException(path + ": truncated replay file");
+        }
+    }
+
+    /**
+     * @brief writes the replay to a file
+     * @param path the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer mapBytes = MapLoader.toBinary(map);
+        // every varint fits in 10 bytes
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + mapBytes.remaining() + 30 + 11 * inputTicks.length);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(seed).putInt(mapBytes.remaining());
+        buffer.put(mapBytes);
+        putVarint(buffer, ticks);
+        putVarint(buffer, score);
+        putVarint(buffer, inputTicks.length);
+        long previous = 0;
+        for (int i = 0; i < inputTicks.length; i++) {
+            putVarint(buffer, inputTicks[i] - previous);
+            buffer.put((byte) (inputDirections[i] + 1));
+            previous = inputTicks[i];
+        }
+        Files.write(path, Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    /** @return seed the game was started with */
+    public long getSeed() { return seed; }
+
+    /** @return the maze the game was played on */
+    public GridMap getMap() { return map; }
+
+    /** @return number of ticks the recorded game lasted */
+    public long getTicks() { return ticks; }
+
+    /** @return final score of the recorded game */
+    public int getScore() { return score; }
+
+    /** @return number of recorded inputs */
+    public int getInputCount() { return inputTicks.length; }
+
+    /** @return tick in which the given input was applied */
+    public long getInputTick(int input) { return inputTicks[input]; }
+
+    /** @return direction set by the given input, one of the Direction constants */
+    public int getInputDirection(int input) { return inputDirections[input]; }
+}
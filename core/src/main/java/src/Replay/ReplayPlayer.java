@@ -0,0 +1,103 @@
+package src.Replay;
+
+import src.Engine.GameEngine;
+import src.Engine.TickScheduler;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * @class ReplayPlayer
+ *
+ * @brief Re-simulates a recorded game by feeding the recorded inputs into a fresh engine.
+ *
+ * The player only drives the engine; step() can be called as fast as possible to check or benchmark a
+ * replay, or from a timer while a Board renders the engine, to watch it.
+ *
+ * Usage from the command line, playing a replay headless at full speed:
+ *     ReplayPlayer last-game.replay
+ */
+public class ReplayPlayer {
+
+    private final Replay replay;
+    private final GameEngine engine;
+    private int nextInput;
+
+    /**
+     * @brief Constructs a player at the first tick of the replay.
+     *
+     * @param replay the recorded game
+     */
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        this.engine = replay.newGame();
+    }
+
+    /**
+     * @brief plays the next tick, with the input recorded for it
+     * @return false if the replay was already over, so nothing happened
+     */
+    public boolean step() {
+        if (isFinished()) return false;
+        long tick = engine.getTickCount();
+        while (nextInput < replay.getInputCount() && replay.getInputTick(nextInput) == tick) {
+            engine.queueInput(replay.getInputDirection(nextInput++));
+        }
+        engine.step();
+        return true;
+    }
+
+    /**
+     * @brief plays the rest of the replay as fast as possible
+     */
+    public void runToEnd() {
+        while (step()) {
+            // keep stepping
+        }
+    }
+
+    /** @return whether the replayed game is over or has reached the length of the recording */
+    public boolean isFinished() {
+        return engine.isGameOver() || engine.getTickCount() >= replay.getTicks();
+    }
+
+    /** @return whether the replay finished the same way the recorded game did */
+    public boolean matchesRecording() {
+        return isFinished() && engine.getTickCount() == replay.getTicks()
+                && engine.getPlayer().getScore() == replay.getScore();
+    }
+
+    /** @return the game being replayed */
+    public GameEngine getEngine() { return engine; }
+
+    /** @return the replay being played */
+    public Replay getReplay() { return replay; }
+
+    /**
+     * @brief replays a file headless at full speed and reports whether it reproduced the recorded game
+     * @param args the replay file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: ReplayPlayer <file.replay>");
+            return;
+        }
+        System.setProperty("java.awt.headless", "true");
+        ReplayPlayer player = new ReplayPlayer(Replay.read(Paths.get(args[0])));
+        player.getEngine().setScheduler(TickScheduler.inline());
+
+        long start = System.nanoTime();
+        player.runToEnd();
+        double millis = (System.nanoTime() - start) / 1e6;
+        GameEngine engine = player.getEngine();
+        System.out.printf("Replayed %d ticks in %.1fms (%.0f ticks/s), score %d%n", engine.getTickCount(), millis,
+                engine.getTickCount() / millis * 1000, engine.getPlayer().getScore());
+        if (player.matchesRecording()) {
+            System.out.println("The replay matches the recording");
+        } else {
+            System.out.println("Error: the replay diverged from the recording, which lasted "
+                    + player.getReplay().getTicks() + " ticks with score " + player.getReplay().getScore());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package src.Replay;
+
+import src.Engine.GameEngine;
+import src.Engine.InputListener;
+
+import java.util.Arrays;
+
+/**
+ * @class ReplayRecorder
+ *
+ * @brief Records the inputs of a game as it is played, so it can be saved as a Replay.
+ *
+ * The recorder has to be created before the game's first tick, and the map must not change during the game.
+ */
+public class ReplayRecorder implements InputListener {
+
+    private final GameEngine engine;
+    private long[] inputTicks = new long[64];
+    private byte[] inputDirections = new byte[64];
+    private int inputs;
+
+    /**
+     * @brief Constructs a recorder and starts listening to the game's inputs.
+     *
+     * @param engine the game to record, which must not have been stepped yet
+     */
+    public ReplayRecorder(GameEngine engine) {
+        if (engine.getTickCount() != 0) throw new IllegalStateException("The game has already started");
+        this.engine = engine;
+        engine.setInputListener(this);
+    }
+
+    @Override
+    public void inputApplied(long tick, int direction) {
+        if (inputs == inputTicks.length) {
+            inputTicks = Arrays.copyOf(inputTicks, inputs * 2);
+            inputDirections = Arrays.copyOf(inputDirections, inputs * 2);
+        }
+        inputTicks[inputs] = tick;
+        inputDirections[inputs] = (byte) direction;
+        ++inputs;
+    }
+
+    /**
+     * @brief get everything recorded so far, the game may continue afterwards
+     * @return replay of the game up to its current tick
+     */
+    public Replay toReplay() {
+        return new Replay(engine.getSeed(), engine.getMap(), engine.getTickCount(), engine.getPlayer().getScore(),
+                Arrays.copyOf(inputTicks, inputs), Arrays.copyOf(inputDirections, inputs));
+    }
+}
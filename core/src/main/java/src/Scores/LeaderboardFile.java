@@ -0,0 +1,310 @@
+package src.Scores;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @class LeaderboardFile
+ *
+ * @brief Compact binary leaderboard snapshot, read a page at a time.
+ *
+ * Layout, all ints big-endian:
+ *  - header: the magic "PLBD", a format version, the number of entries and the number of entries per block,
+ *  - block index: the file offset (a long) of every block,
+ *  - blocks: the entries in ranking order, best score first, each one being the length of the UTF-8 name as a
+ *    varint, the name, and the score as a zig-zag varint.
+ *
+ * Opening a file reads only the header and the block index. Fetching the entries of a given rank range seeks
+ * straight to the block holding the first one and decodes from there, so showing the top N or one page of a
+ * huge leaderboard touches a few kilobytes of it. No text is split and no numbers are parsed from strings.
+ *
+ * The file is written from the entries of a LeaderboardStore; main() converts an existing text leaderboard.
+ */
+public final class LeaderboardFile implements Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+
+    private static final int MAGIC = 0x504C4244; // "PLBD"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int entries;
+    private final int blockSize;
+    private final long[] blockOffsets;
+
+    private LeaderboardFile(Path path, FileChannel channel, int entries, int blockSize, long[] blockOffsets) {
+        this.path = path;
+        this.channel = channel;
+        this.entries = entries;
+        this.blockSize = blockSize;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * @brief opens a binary leaderboard, reading only its header and block index
+     *
+     * @param path the file to read
+     * @return the open file, to be closed by the caller
+     * @throws IOException if the file cannot be read or is not a binary leaderboard
+     */
+    public static LeaderboardFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0, path);
+            header.flip();
+            if (header.getInt() != MAGIC) throw new IOException(path + ": not a binary leaderboard");
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(path + ": unsupported leaderboard format version " + version);
+            }
+            int entries = header.getInt();
+            int blockSize = header.getInt();
+            if (entries < 0 || blockSize <= 0) throw new IOException(path + ": corrupt leaderboard header");
+
+            int blocks = blockCount(entries, blockSize);
+            ByteBuffer index = ByteBuffer.allocate(blocks * Long.BYTES);
+            readFully(channel, index, HEADER_SIZE, path);
+            index.flip();
+            long[] blockOffsets = new long[blocks];
+            long size = channel.size();
+            for (int i = 0; i < blocks; i++) {
+                blockOffsets[i] = index.getLong();
+                if (blockOffsets[i] < HEADER_SIZE || blockOffsets[i] >= size) {
+                    throw new IOException(path + ": corrupt leaderboard block index");
+                }
+            }
+            return new LeaderboardFile(path, channel, entries, blockSize, blockOffsets);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @brief writes entries in the binary format with the default block size
+     *
+     * @param ranked the entries, already in ranking order
+     * @param path   the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Collection<ScoreEntry> ranked, Path path) throws IOException {
+        write(ranked, path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @brief writes entries in the binary format
+     *
+     * @param ranked    the entries, already in ranking order
+     * @param path      the file to write, replaced if it exists
+     * @param blockSize number of entries per block - smaller blocks mean a larger index but less decoding per seek
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Collection<ScoreEntry> ranked, Path path, int blockSize) throws IOException {
+        int entries = ranked.size();
+        int blocks = blockCount(entries, blockSize);
+        long[] blockOffsets = new long[blocks];
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // the blocks go first, the index is filled in once their offsets are known
+            long position = HEADER_SIZE + (long) blocks * Long.BYTES;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int rank = 0;
+            for (ScoreEntry entry : ranked) {
+                byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+                int recordSize = 2 * 5 + name.length;
+                if (buffer.remaining() < recordSize) {
+                    position = flush(channel, buffer, position);
+                    if (buffer.capacity() < recordSize) buffer = ByteBuffer.allocate(recordSize);
+                }
+                if (rank % blockSize == 0) blockOffsets[rank / blockSize] = position + buffer.position();
+                putVarint(buffer, name.length);
+                buffer.put(name);
+                putVarint(buffer, (entry.getScore() << 1) ^ (entry.getScore() >> 31));
+                ++rank;
+            }
+            flush(channel, buffer, position);
+
+            ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + blocks * Long.BYTES);
+            head.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(entries).putInt(blockSize);
+            for (long offset : blockOffsets) {
+                head.putLong(offset);
+            }
+            flush(channel, head, 0);
+        }
+    }
+
+    /**
+     * @brief converts a text leaderboard into the binary format
+     * @param args input leaderboard.txt and output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: LeaderboardFile <input leaderboard.txt> <output .plbd>");
+            return;
+        }
+        LeaderboardStore store = LeaderboardStore.open(Paths.get(args[0]));
+        List<ScoreEntry> ranked = store.top(Integer.MAX_VALUE);
+        write(ranked, Paths.get(args[1]));
+        System.out.println("Wrote " + ranked.size() + " entries to " + args[1]);
+    }
+
+    /** @return number of entries in the file */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * @brief get the best entries
+     * @param n maximum number of entries
+     * @return up to n entries, best score first
+     * @throws IOException if the file cannot be read
+     */
+    public List<ScoreEntry> top(int n) throws IOException {
+        return read(0, n);
+    }
+
+    /**
+     * @brief get one page of the ranking
+     * @param page     page number, starting at 0
+     * @param pageSize entries per page
+     * @return the entries ranked page * pageSize and below, fewer on the last page
+     * @throws IOException if the file cannot be read
+     */
+    public List<ScoreEntry> page(int page, int pageSize) throws IOException {
+        return read((int) Math.min((long) page * pageSize, entries), pageSize);
+    }
+
+    /**
+     * @brief get the entries of a range of ranks
+     * @param fromRank rank of the first entry, 0 being the best
+     * @param count    maximum number of entries
+     * @return the entries in ranking order, fewer if the range goes past the end
+     * @throws IOException if the file cannot be read
+     */
+    public List<ScoreEntry> read(int fromRank, int count) throws IOException {
+        if (fromRank < 0 || count < 0) throw new IllegalArgumentException("negative rank range");
+        int end = (int) Math.min((long) fromRank + count, entries);
+        List<ScoreEntry> result = new ArrayList<>(Math.max(0, end - fromRank));
+        if (fromRank >= end) return result;
+
+        int block = fromRank / blockSize;
+        RecordReader reader = new RecordReader(blockOffsets[block]);
+        // skip the entries of the block that come before the first one wanted
+        for (int rank = block * blockSize; rank < fromRank; rank++) {
+            reader.skipRecord();
+        }
+        for (int rank = fromRank; rank < end; rank++) {
+            result.add(reader.readRecord());
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int blockCount(int entries, int blockSize) {
+        return (int) (((long) entries + blockSize - 1) / blockSize);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new EOFException(path + ": truncated leaderboard file");
+        }
+    }
+
+    /**
+     * @brief decodes records sequentially from a file offset, reading the file in small chunks
+     */
+    private final class RecordReader {
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long position;
+
+        RecordReader(long position) {
+            this.position = position;
+            buffer.flip();
+        }
+
+        ScoreEntry readRecord() throws IOException {
+            byte[] name = new byte[readVarint()];
+            readBytes(name);
+            int zigzag = readVarint();
+            return new ScoreEntry(new String(name, StandardCharsets.UTF_8), (zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        void skipRecord() throws IOException {
+            int length = readVarint();
+            while (length > 0) {
+                if (!buffer.hasRemaining()) fill();
+                int step = Math.min(length, buffer.remaining());
+                buffer.position(buffer.position() + step);
+                length -= step;
+            }
+            readVarint();
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (!buffer.hasRemaining()) fill();
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IOException(path + ": corrupt leaderboard record");
+        }
+
+        private void readBytes(byte[] into) throws IOException {
+            int offset = 0;
+            while (offset < into.length) {
+                if (!buffer.hasRemaining()) fill();
+                int step = Math.min(into.length - offset, buffer.remaining());
+                buffer.get(into, offset, step);
+                offset += step;
+            }
+        }
+
+        private void fill() throws IOException {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) throw new EOFException(path + ": truncated leaderboard file");
+            position += read;
+            buffer.flip();
+        }
+    }
+}
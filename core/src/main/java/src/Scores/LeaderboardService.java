@@ -0,0 +1,127 @@
+package src.Scores;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @class LeaderboardService
+ *
+ * @brief Asynchronous front of a LeaderboardStore, for callers that must not block on file I/O such as the UI.
+ *
+ * Every request runs on a single background thread owned by the service, so requests are handled one at a
+ * time in the order they were made, and the result is delivered through a CompletableFuture. Opening the store
+ * also happens on that thread, on the first request. A future completes exceptionally with an
+ * UncheckedIOException if the file could not be read or written. Callbacks attached to the futures run on the
+ * I/O thread - Swing code has to hop back to the event dispatch thread with SwingUtilities.invokeLater().
+ */
+public class LeaderboardService {
+
+    private static LeaderboardService defaultService;
+
+    private final Path path;
+    private final ExecutorService executor;
+    private LeaderboardStore store;
+
+    /**
+     * @brief get the service of the game's leaderboard file
+     * @return the shared service
+     */
+    public static synchronized LeaderboardService getDefault() {
+        if (defaultService == null) {
+            defaultService = new LeaderboardService(Paths.get(LeaderboardStore.DEFAULT_PATH));
+        }
+        return defaultService;
+    }
+
+    /**
+     * @brief Constructs a service for the given leaderboard file, without touching the file yet.
+     *
+     * @param path the leaderboard file
+     */
+    public LeaderboardService(Path path) {
+        this.path = path;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-io");
+            // pending reads must not keep the game running after its windows are closed
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @brief checks if a player is already on the leaderboard
+     * @param name player name
+     * @return completes with whether the name is taken
+     */
+    public CompletableFuture<Boolean> contains(String name) {
+        return run(store -> store.contains(name));
+    }
+
+    /**
+     * @brief records a score, keeping only the player's best one
+     * @param name  player name
+     * @param score score reached
+     * @return completes once the score is on disk
+     */
+    public CompletableFuture<Void> submit(String name, int score) {
+        return run(store -> {
+            store.submit(name, score);
+            return null;
+        });
+    }
+
+    /**
+     * @brief records the score of a new player, unless the name is already taken
+     *
+     * Unlike contains() followed by submit(), the check and the write are one step under the file lock, so
+     * no other request - of this service or of another game instance sharing the file - can slip in between.
+     *
+     * @param name  player name
+     * @param score score reached
+     * @return completes with true once the score is on disk, or with false if the name was taken
+     */
+    public CompletableFuture<Boolean> submitIfAbsent(String name, int score) {
+        return run(store -> store.submitIfAbsent(name, score));
+    }
+
+    /**
+     * @brief get the best entries
+     * @param n maximum number of entries
+     * @return completes with up to n entries, best score first
+     */
+    public CompletableFuture<List<ScoreEntry>> topN(int n) {
+        return run(store -> store.top(n));
+    }
+
+    /**
+     * @brief stops the I/O thread once the requests made so far are done
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @brief an operation on the store that may fail with an IOException
+     */
+    private interface StoreTask<T> {
+        T run(LeaderboardStore store) throws IOException;
+    }
+
+    private <T> CompletableFuture<T> run(StoreTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // only ever touched by the I/O thread
+                if (store == null) store = LeaderboardStore.open(path);
+                return task.run(store);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+}
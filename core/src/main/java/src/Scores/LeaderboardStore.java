@@ -0,0 +1,444 @@
+package src.Scores;
+
+import src.Diagnostics.Counter;
+import src.Diagnostics.LatencyHistogram;
+import src.Diagnostics.LeaderboardWriteEvent;
+import src.Diagnostics.Metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * @class LeaderboardStore
+ *
+ * @brief In-memory leaderboard backed by an append-only log file that several game instances can share.
+ *
+ * Lookups go through a hash index by name and rankings through a tree ordered by score, so checking a name is
+ * O(1) and submitting a score is O(log n). A submission appends one "name: score" line to the file instead of
+ * rewriting it; every player keeps their best score. Once the log holds many more lines than there are players,
+ * it is compacted - rewritten with one line per player, best score first.
+ *
+ * Writing is safe against crashes and against other processes using the same file:
+ *  - every access to the file happens under an exclusive lock on a sidecar "<file>.lock" file,
+ *  - before using its indexes the store reads whatever other processes appended since it last looked, and starts
+ *    over if the file was replaced by another process's compaction,
+ *  - appends are flushed to disk before submit() returns; a half-written last line left by a crash is not read,
+ *    the next append ends it first and it is then dropped like any other malformed line,
+ *  - compaction writes a temporary file and atomically moves it over the log, so the log is never truncated.
+ * Threads submitting at the same time are group committed - whoever gets the file lock writes everything that is
+ * pending in one append and one flush.
+ *
+ * Every public operation is timed in a "leaderboard.<operation>" histogram, including the wait for the file lock;
+ * group commits and full reloads are counted. Each group commit is a Flight Recorder LeaderboardWriteEvent.
+ */
+public class LeaderboardStore {
+
+    public static final String DEFAULT_PATH = "leaderboard.txt";
+    // the log is compacted once it holds this many lines more than there are players
+    static final int COMPACTION_SLACK = 1024;
+
+    private static final Map<Path, LeaderboardStore> OPEN_STORES = new HashMap<>();
+
+    private static final LatencyHistogram CONTAINS_TIMES = Metrics.histogram("leaderboard.contains");
+    private static final LatencyHistogram TOP_TIMES = Metrics.histogram("leaderboard.top");
+    private static final LatencyHistogram SUBMIT_TIMES = Metrics.histogram("leaderboard.submit");
+    private static final LatencyHistogram COMPACT_TIMES = Metrics.histogram("leaderboard.compact");
+    private static final Counter COMMITS = Metrics.counter("leaderboard.commits");
+    private static final Counter RELOADS = Metrics.counter("leaderboard.reloads");
+
+    private final Path path;
+    private final Path lockPath;
+    // guards the files, the indexes and the read position - always taken before the pending monitor
+    private final Object io = new Object();
+
+    private final HashMap<String, ScoreEntry> byName;
+    private final TreeSet<ScoreEntry> ranking;
+    // lines currently in the log file, including superseded ones
+    private int logLines;
+    // identity of the log file we have read and how far, to notice appends and replacements by others
+    private Object logKey;
+    private long readOffset;
+
+    // submissions waiting for the next group commit, guarded by its own monitor
+    private final List<ScoreEntry> pending = new ArrayList<>();
+    private long enqueued;
+    private long committed;
+
+    /**
+     * @brief get the store of the game's leaderboard file
+     * @return the shared store
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static LeaderboardStore getDefault() throws IOException {
+        return open(Paths.get(DEFAULT_PATH));
+    }
+
+    /**
+     * @brief get the store of the given file, reading it on first use
+     *
+     * @param path the leaderboard file, created on the first submission if it does not exist
+     * @return the store shared by everybody in this process who opens the same file
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static synchronized LeaderboardStore open(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        LeaderboardStore store = OPEN_STORES.get(key);
+        if (store == null) {
+            store = new LeaderboardStore(key);
+            OPEN_STORES.put(key, store);
+        }
+        return store;
+    }
+
+    private LeaderboardStore(Path path) throws IOException {
+        this.path = path;
+        this.lockPath = path.resolveSibling(path.getFileName() + ".lock");
+        this.byName = new HashMap<>();
+        this.ranking = new TreeSet<>(ScoreEntry.RANKING);
+        synchronized (io) {
+            try (FileChannel lock = lockFile()) {
+                refresh();
+            }
+        }
+    }
+
+    /**
+     * @brief checks if a player is already on the leaderboard, including entries written by other instances
+     * @param name player name
+     * @return whether the name is taken
+     * @throws IOException if the file cannot be read
+     */
+    public boolean contains(String name) throws IOException {
+        long start = Metrics.now();
+        try {
+            synchronized (io) {
+                try (FileChannel lock = lockFile()) {
+                    refresh();
+                }
+                return byName.containsKey(name);
+            }
+        } finally {
+            CONTAINS_TIMES.recordSince(start);
+        }
+    }
+
+    /**
+     * @brief get the best entries, including entries written by other instances
+     * @param n maximum number of entries
+     * @return up to n entries, best score first
+     * @throws IOException if the file cannot be read
+     */
+    public List<ScoreEntry> top(int n) throws IOException {
+        long start = Metrics.now();
+        try {
+            synchronized (io) {
+                try (FileChannel lock = lockFile()) {
+                    refresh();
+                }
+                List<ScoreEntry> top = new ArrayList<>(Math.min(n, ranking.size()));
+                Iterator<ScoreEntry> it = ranking.iterator();
+                while (top.size() < n && it.hasNext()) {
+                    top.add(it.next());
+                }
+                return top;
+            }
+        } finally {
+            TOP_TIMES.recordSince(start);
+        }
+    }
+
+    /** @return number of players on the leaderboard, as of the last access to the file */
+    public int size() {
+        synchronized (io) {
+            return byName.size();
+        }
+    }
+
+    /**
+     * @brief records a score, keeping only the player's best one; returns once the score is on disk
+     *
+     * @param name  player name
+     * @param score score reached
+     * @throws IOException if the log cannot be written
+     */
+    public void submit(String name, int score) throws IOException {
+        submitAll(Collections.singletonList(new ScoreEntry(name, score)));
+    }
+
+    /**
+     * @brief records several scores at once; returns once all of them are on disk
+     *
+     * The entries join whatever other threads are submitting and are written by a single group commit.
+     *
+     * @param entries scores to record
+     * @throws IOException if the log cannot be written
+     */
+    public void submitAll(Collection<ScoreEntry> entries) throws IOException {
+        long start = Metrics.now();
+        try {
+            commit(entries);
+        } finally {
+            SUBMIT_TIMES.recordSince(start);
+        }
+    }
+
+    /**
+     * @brief records the score of a new player, unless the name is already taken; returns once the score is on disk
+     *
+     * The check and the append happen under one hold of the file lock, so two instances finishing at the same
+     * time can't both find the name free. The entry is written on its own rather than in a group commit.
+     *
+     * @param name  player name
+     * @param score score reached
+     * @return true if the score was recorded, false if the name was taken
+     * @throws IOException if the log cannot be read or written
+     */
+    public boolean submitIfAbsent(String name, int score) throws IOException {
+        long start = Metrics.now();
+        try {
+            synchronized (io) {
+                return write(Collections.singletonList(new ScoreEntry(name, score)), true);
+            }
+        } finally {
+            SUBMIT_TIMES.recordSince(start);
+        }
+    }
+
+    /**
+     * @brief rewrites the log with one line per player, best score first
+     * @throws IOException if the file cannot be written
+     */
+    public void compact() throws IOException {
+        long start = Metrics.now();
+        try {
+            synchronized (io) {
+                try (FileChannel lock = lockFile()) {
+                    refresh();
+                    compactLocked();
+                }
+            }
+        } finally {
+            COMPACT_TIMES.recordSince(start);
+        }
+    }
+
+    /**
+     * @brief queues the entries and writes them, or waits for whoever is writing to take them along
+     */
+    private void commit(Collection<ScoreEntry> entries) throws IOException {
+        long ticket;
+        synchronized (pending) {
+            pending.addAll(entries);
+            ticket = ++enqueued;
+        }
+
+        synchronized (io) {
+            List<ScoreEntry> batch;
+            long batchEnd;
+            synchronized (pending) {
+                // a committer that got here first already wrote our entries
+                if (committed >= ticket) return;
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                batchEnd = enqueued;
+            }
+
+            try {
+                write(batch, false);
+            } catch (IOException | RuntimeException e) {
+                // give the entries back so that the next committer retries them
+                synchronized (pending) {
+                    pending.addAll(0, batch);
+                }
+                throw e;
+            }
+
+            synchronized (pending) {
+                committed = batchEnd;
+            }
+        }
+    }
+
+    /**
+     * @brief appends the entries under the file lock, compacting the log if it has grown too long; must hold io
+     *
+     * @param batch        entries to write
+     * @param onlyIfAbsent write nothing if the first entry's player is already on the leaderboard
+     * @return whether the entries were written
+     */
+    private boolean write(List<ScoreEntry> batch, boolean onlyIfAbsent) throws IOException {
+        LeaderboardWriteEvent event = new LeaderboardWriteEvent();
+        event.begin();
+        long lockRequested = System.nanoTime();
+        try (FileChannel lock = lockFile()) {
+            event.lockWait = System.nanoTime() - lockRequested;
+            if (onlyIfAbsent) {
+                // checked against the log as it is now, and nobody can append until the lock is released
+                refresh();
+                if (byName.containsKey(batch.get(0).getName())) return false;
+            }
+            append(batch);
+            // picks up our own lines together with anything other instances wrote before them
+            refresh();
+            event.compacted = logLines > byName.size() + COMPACTION_SLACK;
+            if (event.compacted) compactLocked();
+        }
+        COMMITS.increment();
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.entries = batch.size();
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * @brief takes the inter-process lock guarding the log
+     * @return the locked channel of the lock file, closing it releases the lock
+     */
+    private FileChannel lockFile() throws IOException {
+        FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @brief brings the indexes up to date with the log, must hold the file lock
+     *
+     * Only complete lines are consumed - a line still being written, or cut short by a crash, is left for later.
+     */
+    private void refresh() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!Objects.equals(attributes.fileKey(), logKey) || attributes.size() < readOffset) {
+            // the log was replaced (or truncated) by somebody else - start over
+            if (logKey != null) RELOADS.increment();
+            byName.clear();
+            ranking.clear();
+            logLines = 0;
+            readOffset = 0;
+            logKey = attributes.fileKey();
+        }
+        if (attributes.size() == readOffset) return;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - readOffset));
+            while (buffer.hasRemaining() && channel.read(buffer, readOffset + buffer.position()) >= 0) {
+                // keep reading until the whole tail is in
+            }
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < buffer.position(); i++) {
+                if (bytes[i] != '\n') continue;
+                int end = (i > lineStart && bytes[i - 1] == '\r') ? i - 1 : i;
+                ++logLines;
+                ScoreEntry entry = ScoreEntry.parse(new String(bytes, lineStart, end - lineStart, StandardCharsets.UTF_8));
+                if (entry != null) apply(entry);
+                lineStart = i + 1;
+            }
+            readOffset += lineStart;
+        }
+    }
+
+    /**
+     * @brief appends the entries to the log and flushes them to disk, must hold the file lock
+     */
+    private void append(List<ScoreEntry> batch) throws IOException {
+        if (batch.isEmpty()) return;
+        StringBuilder lines = new StringBuilder();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                // never glue our line onto an unfinished one
+                if (last.get(0) != '\n') lines.append('\n');
+            }
+            for (ScoreEntry entry : batch) {
+                lines.append(entry).append('\n');
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            long position = size;
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * @brief writes the compacted log next to the real one and atomically swaps it in, must hold the file lock
+     */
+    private void compactLocked() throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (ScoreEntry entry : ranking) {
+                lines.append(entry).append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        logKey = attributes.fileKey();
+        readOffset = attributes.size();
+        logLines = ranking.size();
+    }
+
+    /**
+     * @brief puts the entry into both indexes unless the player already has a better score
+     */
+    private void apply(ScoreEntry entry) {
+        ScoreEntry previous = byName.get(entry.getName());
+        if (previous != null) {
+            if (previous.getScore() >= entry.getScore()) return;
+            ranking.remove(previous);
+        }
+        byName.put(entry.getName(), entry);
+        ranking.add(entry);
+    }
+}
@@ -0,0 +1,60 @@
+package src.Scores;
+
+import java.util.Comparator;
+
+/**
+ * @class ScoreEntry
+ *
+ * @brief A single leaderboard record - a player name and the score they reached.
+ */
+public final class ScoreEntry {
+
+    // best score first, ties broken by name so that every entry has a fixed place
+    public static final Comparator<ScoreEntry> RANKING =
+            Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparing(ScoreEntry::getName);
+
+    private final String name;
+    private final int score;
+
+    /**
+     * @brief Constructs an entry.
+     *
+     * @param name  player name
+     * @param score score reached by the player
+     */
+    public ScoreEntry(String name, int score) {
+        this.name = name;
+        this.score = score;
+    }
+
+    /**
+     * @brief parses a line of the text leaderboard format, "name: score"
+     *
+     * @param line the line to parse
+     * @return the entry, or null if the line is not a valid record
+     */
+    public static ScoreEntry parse(String line) {
+        int separator = line.lastIndexOf(": ");
+        if (separator <= 0) return null;
+        try {
+            return new ScoreEntry(line.substring(0, separator), Integer.parseInt(line.substring(separator + 2)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** @return the player name */
+    public String getName() { return name; }
+
+    /** @return the score */
+    public int getScore() { return score; }
+
+    /**
+     * @brief formats the entry as a line of the text leaderboard format
+     * @return "name: score"
+     */
+    @Override
+    public String toString() {
+        return name + ": " + score;
+    }
+}
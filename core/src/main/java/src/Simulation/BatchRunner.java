@@ -0,0 +1,189 @@
+package src.Simulation;
+
+import src.Engine.GameEngine;
+import src.Engine.TickScheduler;
+import src.Entities.MovingEntity;
+import src.Maze.GridMap;
+import src.Maze.MapLoader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @class BatchRunner
+ *
+ * @brief Plays many independent games without a display, spread over all cores, and aggregates the results.
+ *
+ * Every game has its own GameEngine on the shared map and is stepped as fast as possible on a single worker
+ * thread, with its ghosts moved inline instead of on the shared TickScheduler. Workers pull game numbers from
+ * one counter and collect results into their own BatchStats, which are merged at the end, so apart from that
+ * counter the games share nothing but read-only data and the throughput grows with the number of cores.
+ *
+ * Usage from the command line (all arguments optional):
+ *     BatchRunner games=10000 ticks=6000 player=greedy|script:RRDDLLUU coin=100 ghostSpeed=1.0 threads=8
+ */
+public class BatchRunner {
+
+    private final GridMap map;
+    private final Supplier<PlayerController> controllers;
+    private long maxTicks = 6000;
+    private float ghostSpeedScale = 1.0f;
+    private int coinValue = GameEngine.COIN_VALUE;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @brief Constructs a runner playing on the given map.
+     *
+     * @param map         the maze, shared by all games and must not be changed while a batch runs
+     * @param controllers creates the player's controller for each game
+     */
+    public BatchRunner(GridMap map, Supplier<PlayerController> controllers) {
+        this.map = map;
+        this.controllers = controllers;
+    }
+
+    /**
+     * @brief sets after how many ticks a game is stopped with the player counted as a survivor
+     * @param maxTicks tick limit of each game
+     */
+    public void setMaxTicks(long maxTicks) { this.maxTicks = maxTicks; }
+
+    /**
+     * @brief scales the speed of every default ghost
+     * @param scale multiplier of the time between ghost moves - values below 1 make the ghosts faster
+     */
+    public void setGhostSpeedScale(float scale) { this.ghostSpeedScale = scale; }
+
+    /**
+     * @brief sets how many points every coin is worth
+     * @param coinValue points per coin
+     */
+    public void setCoinValue(int coinValue) { this.coinValue = coinValue; }
+
+    /**
+     * @brief sets how many games are played at the same time
+     * @param threads number of worker threads, defaults to the number of cores
+     */
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+
+    /**
+     * @brief plays a batch of games and waits for all of them to finish
+     * @param games number of games to play
+     * @return statistics of every game in the batch
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public BatchStats run(int games) throws InterruptedException {
+        int workers = Math.min(threads, Math.max(1, games));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger nextGame = new AtomicInteger();
+        List<Future<BatchStats>> parts = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            parts.add(executor.submit(() -> {
+                BatchStats stats = new BatchStats();
+                while (nextGame.getAndIncrement() < games) {
+                    stats.add(play());
+                }
+                return stats;
+            }));
+        }
+
+        BatchStats total = new BatchStats();
+        try {
+            for (Future<BatchStats> part : parts) {
+                total.merge(part.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * @brief plays one game on the calling thread until the player is caught or the tick limit is hit
+     * @return outcome of the game
+     */
+    public GameResult play() {
+        GameEngine engine = new GameEngine(map);
+        engine.setScheduler(TickScheduler.inline());
+        engine.setCoinValue(coinValue);
+        engine.addDefaultGhosts();
+        for (MovingEntity ghost : engine.getGhosts()) {
+            ghost.setSpeed(ghost.getSpeed() * ghostSpeedScale);
+        }
+
+        PlayerController controller = controllers.get();
+        while (!engine.isGameOver() && engine.getTickCount() < maxTicks) {
+            engine.queueInput(controller.nextDirection(engine));
+            engine.step();
+        }
+        return new GameResult(engine.getTickCount(), engine.getPlayer().getScore(), engine.getCaughtByType());
+    }
+
+    /**
+     * @brief runs a batch configured by key=value arguments and prints the statistics
+     * @param args see the class description
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+
+        int games = 1000;
+        String player = "greedy";
+        long ticks = 6000;
+        int coin = GameEngine.COIN_VALUE;
+        float ghostSpeed = 1.0f;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            String key = split < 0 ? arg : arg.substring(0, split);
+            String value = split < 0 ? "" : arg.substring(split + 1);
+            switch (key) {
+                case "games": games = Integer.parseInt(value); break;
+                case "ticks": ticks = Long.parseLong(value); break;
+                case "player": player = value; break;
+                case "coin": coin = Integer.parseInt(value); break;
+                case "ghostSpeed": ghostSpeed = Float.parseFloat(value); break;
+                case "threads": threads = Integer.parseInt(value); break;
+                default:
+                    System.out.println("Usage: BatchRunner [games=N] [ticks=N] [player=greedy|script:MOVES] "
+                            + "[coin=N] [ghostSpeed=X] [threads=N]");
+                    return;
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(MapLoader.loadConfigured(GameEngine.MAP), controllerFactory(player));
+        runner.setMaxTicks(ticks);
+        runner.setCoinValue(coin);
+        runner.setGhostSpeedScale(ghostSpeed);
+        runner.setThreads(threads);
+
+        long start = System.nanoTime();
+        BatchStats stats = runner.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(stats);
+        System.out.printf("%d games on %d threads in %.2fs (%.0f games/s)%n",
+                stats.getGames(), runner.threads, seconds, stats.getGames() / seconds);
+    }
+
+    private static Supplier<PlayerController> controllerFactory(String player) {
+        if (player.equals("greedy")) return GreedyController::new;
+        if (player.startsWith("script:")) {
+            String script = player.substring("script:".length());
+            new ScriptedController(script); // fail on a bad script before any game starts
+            return () -> new ScriptedController(script);
+        }
+        throw new IllegalArgumentException("Unknown player " + player + ", expected greedy or script:MOVES");
+    }
+}
@@ -0,0 +1,124 @@
+package src.Simulation;
+
+import src.Engine.GameEngine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @class BatchStats
+ *
+ * @brief Aggregated results of many simulated games.
+ *
+ * Not thread safe - every worker fills its own instance and the instances are merged once the batch is done,
+ * so the workers never share anything while they play.
+ */
+public class BatchStats {
+
+    private long[] ticks = new long[64];
+    private int[] scores = new int[64];
+    private int games;
+    private int survived;
+    private final TreeMap<String, Integer> captures = new TreeMap<>();
+
+    /**
+     * @brief records the result of one game
+     * @param result outcome of the game
+     */
+    public void add(GameResult result) {
+        if (games == ticks.length) grow(games * 2);
+        ticks[games] = result.getTicks();
+        scores[games] = result.getScore();
+        ++games;
+        if (result.survived()) ++survived;
+        else captures.merge(result.getCaughtBy(), 1, Integer::sum);
+    }
+
+    /**
+     * @brief adds every game recorded by another instance to this one
+     * @param other statistics to merge in, left unchanged
+     */
+    public void merge(BatchStats other) {
+        if (games + other.games > ticks.length) grow(games + other.games);
+        System.arraycopy(other.ticks, 0, ticks, games, other.games);
+        System.arraycopy(other.scores, 0, scores, games, other.games);
+        games += other.games;
+        survived += other.survived;
+        other.captures.forEach((ghost, count) -> captures.merge(ghost, count, Integer::sum));
+    }
+
+    private void grow(int capacity) {
+        ticks = Arrays.copyOf(ticks, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+    }
+
+    /** @return number of recorded games */
+    public int getGames() { return games; }
+
+    /** @return fraction of games in which the player was never caught */
+    public double getSurvivalRate() { return games == 0 ? 0 : (double) survived / games; }
+
+    /** @return number of captures made by each ghost type, keyed by class name */
+    public Map<String, Integer> getCaptures() { return Collections.unmodifiableMap(captures); }
+
+    /** @return average number of ticks the player survived */
+    public double getMeanTicks() {
+        double sum = 0;
+        for (int i = 0; i < games; i++) sum += ticks[i];
+        return games == 0 ? 0 : sum / games;
+    }
+
+    /** @return average final score */
+    public double getMeanScore() {
+        double sum = 0;
+        for (int i = 0; i < games; i++) sum += scores[i];
+        return games == 0 ? 0 : sum / games;
+    }
+
+    /**
+     * @brief get the survival time below which the given share of games ended
+     * @param percentile value between 0 and 100
+     * @return survival time in ticks
+     */
+    public long ticksPercentile(double percentile) {
+        if (games == 0) return 0;
+        long[] sorted = Arrays.copyOf(ticks, games);
+        Arrays.sort(sorted);
+        return sorted[rank(percentile)];
+    }
+
+    /**
+     * @brief get the score below which the given share of games ended
+     * @param percentile value between 0 and 100
+     * @return final score
+     */
+    public int scorePercentile(double percentile) {
+        if (games == 0) return 0;
+        int[] sorted = Arrays.copyOf(scores, games);
+        Arrays.sort(sorted);
+        return sorted[rank(percentile)];
+    }
+
+    private int rank(double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * games) - 1;
+        return Math.max(0, Math.min(games - 1, rank));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games=%d survived=%.1f%%%n", games, getSurvivalRate() * 100));
+        report.append(String.format("survival ticks: mean=%.1f p50=%d p90=%d p99=%d (%.1fs mean at %d ms/tick)%n",
+                getMeanTicks(), ticksPercentile(50), ticksPercentile(90), ticksPercentile(99),
+                getMeanTicks() * GameEngine.TICK_MS / 1000, GameEngine.TICK_MS));
+        report.append(String.format("score:          mean=%.1f p50=%d p90=%d p99=%d%n",
+                getMeanScore(), scorePercentile(50), scorePercentile(90), scorePercentile(99)));
+        report.append("captures:");
+        if (captures.isEmpty()) report.append(" none");
+        captures.forEach((ghost, count) -> report.append(String.format(" %s=%d (%.1f%%)",
+                ghost, count, 100.0 * count / games)));
+        return report.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package src.Simulation;
+
+/**
+ * @class GameResult
+ *
+ * @brief Outcome of a single simulated game.
+ */
+public final class GameResult {
+
+    private final long ticks;
+    private final int score;
+    private final String caughtBy;
+
+    /**
+     * @brief Constructs a result.
+     *
+     * @param ticks    number of ticks the player survived
+     * @param score    final score of the player
+     * @param caughtBy class name of the ghost that caught the player, null if the game hit the tick limit
+     */
+    public GameResult(long ticks, int score, String caughtBy) {
+        this.ticks = ticks;
+        this.score = score;
+        this.caughtBy = caughtBy;
+    }
+
+    /** @return number of ticks the player survived */
+    public long getTicks() { return ticks; }
+
+    /** @return final score of the player */
+    public int getScore() { return score; }
+
+    /** @return class name of the ghost that caught the player, null if the player survived */
+    public String getCaughtBy() { return caughtBy; }
+
+    /** @return whether the player was still alive when the game was stopped */
+    public boolean survived() { return caughtBy == null; }
+}
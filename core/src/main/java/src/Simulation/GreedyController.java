@@ -0,0 +1,117 @@
+package src.Simulation;
+
+import src.Engine.GameEngine;
+import src.Engine.OccupancyGrid;
+import src.Entities.MovingEntity;
+import src.Maze.Direction;
+import src.Maze.GridMap;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @class GreedyController
+ *
+ * @brief Simple AI player: walks to the nearest coin while keeping its distance from the ghosts.
+ *
+ * Every tick a BFS from all ghosts at once gives the distance of each tile to the closest ghost. A second
+ * BFS from the player, which never enters tiles within SAFE_DISTANCE of a ghost, finds the nearest coin.
+ * If no coin can be reached safely, the player steps to whichever neighbouring tile is farthest from the
+ * ghosts instead. Both searches reuse the same arrays, so a tick allocates nothing.
+ */
+public class GreedyController implements PlayerController {
+
+    // tiles closer than this to a ghost are avoided
+    public static final int SAFE_DISTANCE = 2;
+
+    private int[] ghostDistance = new int[0];
+    private int[] firstStep = new int[0];
+    private int[] queue = new int[0];
+
+    @Override
+    public int nextDirection(GameEngine engine) {
+        GridMap map = engine.getMap();
+        int cells = map.getCells();
+        if (queue.length != cells) {
+            ghostDistance = new int[cells];
+            firstStep = new int[cells];
+            queue = new int[cells];
+        }
+        Point pos = engine.getPlayer().getPos();
+        int start = map.cellIndex(pos.x, pos.y);
+
+        fillGhostDistance(map, engine.getGhosts());
+        int toCoin = stepTowardsCoin(map, engine.getOccupancy(), start);
+        return toCoin != Direction.NONE ? toCoin : flee(map, start);
+    }
+
+    /**
+     * @brief multi-source BFS giving every tile its distance to the closest ghost
+     */
+    private void fillGhostDistance(GridMap map, List<MovingEntity> ghosts) {
+        Arrays.fill(ghostDistance, Integer.MAX_VALUE);
+        int head = 0;
+        int tail = 0;
+        for (MovingEntity ghost : ghosts) {
+            int cell = map.cellIndex(ghost.getPos().x, ghost.getPos().y);
+            if (ghostDistance[cell] == 0) continue;
+            ghostDistance[cell] = 0;
+            queue[tail++] = cell;
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int mask = map.neighbourMask(cell);
+            for (int dir = 0; dir < 4; dir++) {
+                if ((mask & (1 << dir)) == 0) continue;
+                int next = map.neighbour(cell, dir);
+                if (ghostDistance[next] != Integer.MAX_VALUE) continue;
+                ghostDistance[next] = ghostDistance[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * @brief BFS from the player through safe tiles until the first coin
+     * @return direction of the first step towards the nearest safe coin, Direction.NONE if there is none
+     */
+    private int stepTowardsCoin(GridMap map, OccupancyGrid occupancy, int start) {
+        Arrays.fill(firstStep, Integer.MIN_VALUE);
+        firstStep[start] = Direction.NONE;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            if (cell != start && occupancy.coinAt(cell) != OccupancyGrid.EMPTY) return firstStep[cell];
+            int mask = map.neighbourMask(cell);
+            for (int dir = 0; dir < 4; dir++) {
+                if ((mask & (1 << dir)) == 0) continue;
+                int next = map.neighbour(cell, dir);
+                if (firstStep[next] != Integer.MIN_VALUE || ghostDistance[next] < SAFE_DISTANCE) continue;
+                firstStep[next] = cell == start ? dir : firstStep[cell];
+                queue[tail++] = next;
+            }
+        }
+        return Direction.NONE;
+    }
+
+    /**
+     * @brief picks the neighbour farthest from the ghosts, or standing still if that is safest
+     */
+    private int flee(GridMap map, int start) {
+        int best = Direction.NONE;
+        int bestDistance = ghostDistance[start];
+        int mask = map.neighbourMask(start);
+        for (int dir = 0; dir < 4; dir++) {
+            if ((mask & (1 << dir)) == 0) continue;
+            int distance = ghostDistance[map.neighbour(start, dir)];
+            if (distance > bestDistance) {
+                best = dir;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
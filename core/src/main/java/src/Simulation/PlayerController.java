@@ -0,0 +1,19 @@
+package src.Simulation;
+
+import src.Engine.GameEngine;
+
+/**
+ * @brief Decides where the player goes when nobody sits at the keyboard.
+ *
+ * A controller is asked once per tick, before the tick is simulated. Every game gets its own instance,
+ * so implementations may keep per-game state and need not be thread safe.
+ */
+public interface PlayerController {
+
+    /**
+     * @brief picks the player's direction for the next tick
+     * @param engine the game being played
+     * @return one of the Direction constants, Direction.NONE to stand still
+     */
+    int nextDirection(GameEngine engine);
+}
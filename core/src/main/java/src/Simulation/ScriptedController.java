@@ -0,0 +1,46 @@
+package src.Simulation;
+
+import src.Engine.GameEngine;
+import src.Maze.Direction;
+
+/**
+ * @class ScriptedController
+ *
+ * @brief Replays a fixed sequence of moves, one character per tick, starting over when it runs out.
+ *
+ * The script uses U, R, D and L for the four directions and '.' for standing still, e.g. "RRRRDDDDLLLLUUUU".
+ */
+public class ScriptedController implements PlayerController {
+
+    private final int[] moves;
+    private int next;
+
+    /**
+     * @brief Constructs a controller playing the given script.
+     *
+     * @param script moves to play, case insensitive
+     * @throws IllegalArgumentException if the script is empty or contains an unknown move
+     */
+    public ScriptedController(String script) {
+        if (script.isEmpty()) throw new IllegalArgumentException("Empty player script");
+        moves = new int[script.length()];
+        for (int i = 0; i < moves.length; i++) {
+            switch (Character.toUpperCase(script.charAt(i))) {
+                case 'U': moves[i] = Direction.UP; break;
+                case 'R': moves[i] = Direction.RIGHT; break;
+                case 'D': moves[i] = Direction.DOWN; break;
+                case 'L': moves[i] = Direction.LEFT; break;
+                case '.': moves[i] = Direction.NONE; break;
+                default:
+                    throw new IllegalArgumentException("Unknown move '" + script.charAt(i) + "' in player script");
+            }
+        }
+    }
+
+    @Override
+    public int nextDirection(GameEngine engine) {
+        int move = moves[next];
+        next = (next + 1) % moves.length;
+        return move;
+    }
+}
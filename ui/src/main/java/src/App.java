@@ -1,8 +1,17 @@
 package src;
 
+import src.Diagnostics.Metrics;
+import src.Replay.Replay;
+import src.Replay.ReplayPlayer;
+
 import javax.swing.*;
+import java.awt.Dimension;
+import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @brief The main application class.
@@ -11,6 +20,9 @@ import java.awt.event.ActionListener;
  */
 class App {
 
+    // system property with the number of seconds between two metrics reports in the log
+    static final String METRICS_PERIOD_PROPERTY = "pacman.metrics.logPeriod";
+
     /**
      * @brief Initializes the main window of the application.
      *
@@ -67,12 +79,39 @@ class App {
      * This method creates a window frame for the game board and configures its properties.
      */
     public static void initBoardWindow() {
-        JFrame boardFrame = new JFrame("Pacman");
+        showBoard(new Board(), "Pacman");
+    }
+
+    /**
+     * @brief Initializes a window playing back a recorded game.
+     *
+     * @param replay the recorded game
+     * @param speed  playback speed, 1 is the speed the game was played at
+     */
+    public static void initReplayWindow(Replay replay, double speed) {
+        showBoard(new Board(new ReplayPlayer(replay), speed), "Pacman - replay");
+    }
+
+    /**
+     * @brief opens a window with the given board
+     */
+    private static void showBoard(Board board, String title) {
+        JFrame boardFrame = new JFrame(title);
         boardFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         boardFrame.setResizable(false);
 
-        Board board = new Board();
-        boardFrame.add(board);
+        // large loaded maps don't fit on the screen, let the user scroll around them
+        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+        Dimension size = board.getPreferredSize();
+        if (size.width > screen.width || size.height > screen.height) {
+            JScrollPane scrollPane = new JScrollPane(board);
+            scrollPane.setPreferredSize(new Dimension(Math.min(size.width, screen.width * 3 / 4),
+                    Math.min(size.height, screen.height * 3 / 4)));
+            scrollPane.setFocusable(false);
+            boardFrame.add(scrollPane);
+        } else {
+            boardFrame.add(board);
+        }
         boardFrame.addKeyListener(board);
 
         boardFrame.pack();
@@ -100,6 +139,9 @@ class App {
 
     /**
      * @breif program's main method - starts by initialising the WelcomeWindow
+     *
+     * Started as "App --replay <file> [speed]" it plays back a recorded game instead.
+     *
      * @param args
      */
     public static void main(String[] args) {
@@ -108,6 +150,24 @@ class App {
         // this is a lot of boilerplate code that you shouldn't be too concerned about.
         // just know that when main runs it will call initWindow() once.
 
+        // log the game's timings every pacman.metrics.logPeriod seconds, 0 turns it off
+        Metrics.startLogging(Long.getLong(METRICS_PERIOD_PROPERTY, 60), TimeUnit.SECONDS);
+
+        if (args.length > 0 && args[0].equals("--replay")) {
+            if (args.length < 2) {
+                System.out.println("Usage: App --replay <file.replay> [speed]");
+                return;
+            }
+            try {
+                Replay replay = Replay.read(Paths.get(args[1]));
+                double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+                SwingUtilities.invokeLater(() -> initReplayWindow(replay, speed));
+            } catch (IOException e) {
+                System.out.println("Error opening replay: " + e.getMessage());
+            }
+            return;
+        }
+
         SwingUtilities.invokeLater(new Runnable() {
             public void run() {
                 initWelcomeWindow();
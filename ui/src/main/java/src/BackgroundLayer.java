@@ -0,0 +1,116 @@
+package src;
+
+import src.Maze.GridMap;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * @class BackgroundLayer
+ *
+ * @brief Draws the maze (walls and paths) from an image rendered once and reused every frame.
+ *
+ * The maze does not change between frames, so instead of filling every tile each frame it is drawn once into an
+ * accelerated VolatileImage and only copied afterwards. The image is redrawn when its contents get lost (which
+ * VolatileImages are allowed to do) or when the map's version changes.
+ * Components that are not on screen yet have no GraphicsConfiguration and get a BufferedImage instead.
+ * Maps too large to be held in one image are drawn directly, limited to the tiles inside the clip.
+ */
+class BackgroundLayer {
+
+    // largest image (in pixels) the layer will cache - 4096x4096 takes 64MB
+    static final long MAX_CACHED_PIXELS = 4096L * 4096L;
+
+    private static final Color PATH_COLOR = new Color(10, 10, 35);
+    private static final Color WALL_COLOR = new Color(36, 75, 161);
+
+    private final GridMap map;
+    private final int tileSize;
+    private final int width;
+    private final int height;
+
+    private VolatileImage accelerated;
+    private BufferedImage fallback;
+    private int renderedVersion = -1;
+
+    /**
+     * @brief Constructs a layer for the given map.
+     *
+     * @param map      the maze to draw
+     * @param tileSize size of a tile in pixels
+     */
+    BackgroundLayer(GridMap map, int tileSize) {
+        this.map = map;
+        this.tileSize = tileSize;
+        this.width = map.getColumns() * tileSize;
+        this.height = map.getRows() * tileSize;
+    }
+
+    /**
+     * @brief draws the maze onto the target component
+     *
+     * @param g      The Graphics object used for rendering.
+     * @param target component being painted, supplies the GraphicsConfiguration for the cached image
+     */
+    void draw(Graphics g, Component target) {
+        if ((long) width * height > MAX_CACHED_PIXELS) {
+            drawTiles(g, g.getClipBounds());
+            return;
+        }
+
+        GraphicsConfiguration gc = target.getGraphicsConfiguration();
+        if (gc == null) {
+            if (fallback == null || renderedVersion != map.getVersion()) {
+                if (fallback == null) fallback = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                render(fallback.createGraphics());
+            }
+            g.drawImage(fallback, 0, 0, null);
+            return;
+        }
+
+        do {
+            int state = accelerated == null ? VolatileImage.IMAGE_INCOMPATIBLE : accelerated.validate(gc);
+            if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+                accelerated = gc.createCompatibleVolatileImage(width, height);
+                renderedVersion = -1;
+            } else if (state == VolatileImage.IMAGE_RESTORED) {
+                renderedVersion = -1;
+            }
+            if (renderedVersion != map.getVersion()) {
+                render(accelerated.createGraphics());
+            }
+            g.drawImage(accelerated, 0, 0, null);
+        } while (accelerated.contentsLost());
+    }
+
+    /**
+     * @brief renders the whole maze into a cached image and remembers which map version it shows
+     */
+    private void render(Graphics2D g) {
+        drawTiles(g, new Rectangle(0, 0, width, height));
+        g.dispose();
+        renderedVersion = map.getVersion();
+    }
+
+    /**
+     * @brief fills the tiles inside the area, merging neighbouring tiles of the same kind into one rectangle
+     */
+    private void drawTiles(Graphics g, Rectangle area) {
+        if (area == null) area = new Rectangle(0, 0, width, height);
+        int firstCol = Math.max(0, area.x / tileSize);
+        int lastCol = Math.min(map.getColumns() - 1, (area.x + area.width - 1) / tileSize);
+        int firstRow = Math.max(0, area.y / tileSize);
+        int lastRow = Math.min(map.getRows() - 1, (area.y + area.height - 1) / tileSize);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            int runStart = firstCol;
+            for (int col = firstCol; col <= lastCol + 1; col++) {
+                if (col <= lastCol && map.isWall(col, row) == map.isWall(runStart, row)) continue;
+                g.setColor(map.isWall(runStart, row) ? WALL_COLOR : PATH_COLOR);
+                g.fillRect(runStart * tileSize, row * tileSize, (col - runStart) * tileSize, tileSize);
+                runStart = col;
+            }
+        }
+    }
+}
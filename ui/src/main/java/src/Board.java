@@ -0,0 +1,519 @@
+package src;
+
+import src.Diagnostics.Counter;
+import src.Diagnostics.FrameRenderedEvent;
+import src.Diagnostics.LatencyHistogram;
+import src.Diagnostics.Metrics;
+import src.Diagnostics.TickEvent;
+import src.Engine.DirtyTiles;
+import src.Engine.GameEngine;
+import src.Entities.*;
+import src.Maze.GridMap;
+import src.Maze.MapLoader;
+import src.Replay.ReplayPlayer;
+import src.Replay.ReplayRecorder;
+import src.Scores.LeaderboardService;
+import src.Scores.LeaderboardStore;
+import src.Scores.ScoreEntry;
+import java.io.*;
+import java.nio.file.Paths;
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+import java.util.List;
+
+import static src.App.initLeaderboardWindow;
+
+/**
+ * @brief Board class serves as the central point in the programm. It stores all present entities,
+ * calculates entity collisions, draws the background, etc...
+ */
+public class Board extends JPanel implements ActionListener, KeyListener {
+
+    // controls the delay between each tick in ms
+    public static final int DELAY = GameEngine.TICK_MS;
+    // controls the size of the board
+    public static final int TILE_SIZE = 25;
+
+    public static final int ROWS = GameEngine.MAP.length;
+    public static final int COLUMNS = GameEngine.MAP[0].length;
+
+    public static final int REVIVAL_COST = 500;
+
+    // system property naming the file every finished game is saved to as a replay, empty turns recording off
+    public static final String REPLAY_PROPERTY = "pacman.replay";
+    public static final String DEFAULT_REPLAY_FILE = "last-game.replay";
+    // suppress serialization warning
+    private static final long serialVersionUID = 490905409104883233L;
+
+    // time spent per tick and per paint, and ticks that came late enough to be seen as stutter
+    private static final LatencyHistogram TICK_TIMES = Metrics.histogram("tick");
+    private static final LatencyHistogram PAINT_TIMES = Metrics.histogram("paint");
+    private static final Counter LATE_TICKS = Metrics.counter("tick.late");
+
+    private static Timer timer;
+    private GameEngine engine;
+    private BackgroundLayer background;
+    private boolean is_gameOver;
+    // score shown by the last painted frame, the score row is only repainted when it changes
+    private int paintedScore;
+    // when the previous tick started, to notice ticks arriving late
+    private long lastTickStart;
+    // records the live game, null when recording is off
+    private ReplayRecorder recorder;
+    // drives the engine when the board shows a replay instead of a live game
+    private ReplayPlayer replay;
+
+    /**
+     * @brief Constructs a new Board object.
+     *
+     * This constructor initializes the game board by performing the following tasks:
+     *  - Loads the map (the file named by the pacman.map property, or the built-in one)
+     *  - Creates the game engine holding the player, ghosts and coins
+     *  - Sets the preferred size of the board
+     *  - Starts recording the game as a replay, unless the pacman.replay property is empty
+     *  - Starts a timer to trigger action events
+     */
+    public Board() {
+        // initialize the game state
+        this(new GameEngine(loadMap()));
+        engine.addDefaultGhosts();
+        if (!System.getProperty(REPLAY_PROPERTY, DEFAULT_REPLAY_FILE).isEmpty()) recorder = new ReplayRecorder(engine);
+
+        timer = new Timer(DELAY, this); // call the actionPerformed() method every DELAY ms
+        timer.start();
+    }
+
+    /**
+     * @brief Constructs a board showing the given game, without starting the timer.
+     *
+     * The caller advances the engine itself - used to render games driven from elsewhere.
+     *
+     * @param engine the game to show
+     */
+    public Board(GameEngine engine) {
+        this.engine = engine;
+        background = new BackgroundLayer(engine.getMap(), TILE_SIZE);
+        setPreferredSize(new Dimension(TILE_SIZE * engine.getColumns(), TILE_SIZE * engine.getRows()));
+    }
+
+    /**
+     * @brief Constructs a board playing back a recorded game.
+     *
+     * Keyboard input is ignored and the game ends without asking for the player's name.
+     *
+     * @param replay player positioned at the start of the replay
+     * @param speed  playback speed, 1 is the speed the game was played at
+     */
+    public Board(ReplayPlayer replay, double speed) {
+        this(replay.getEngine());
+        this.replay = replay;
+        timer = new Timer(Math.max(1, (int) Math.round(DELAY / speed)), this);
+        timer.start();
+    }
+
+    /**
+     * @brief loads the configured map, falling back to the built-in one if the file cannot be read
+     * @return the map to play on
+     */
+    private static GridMap loadMap() {
+        try {
+            return MapLoader.loadConfigured(GameEngine.MAP);
+        } catch (IOException e) {
+            System.out.println("Error opening map file: " + e.getMessage());
+            return new GridMap(GameEngine.MAP);
+        }
+    }
+
+    /** @brief get the engine driving this board
+     *
+     * @return engine - Board's game state
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @brief Handles the action event for a specific action.
+     *
+     * This method is called by the timer every DELAY ms.
+     * It performs the following tasks:
+     *  - Advances the game engine by one tick
+     *  - Ends the game if the player got caught
+     *  - Repaints the parts of the board that changed
+     *
+     * Its duration is recorded in the "tick" histogram, and a tick starting more than two DELAYs after the
+     * previous one - a visible hitch - is counted as "tick.late". Each tick is also a Flight Recorder TickEvent.
+     *
+     * @param e The action event that occurred.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long start = Metrics.now();
+        if (lastTickStart != 0 && start - lastTickStart > 2_000_000L * DELAY) LATE_TICKS.increment();
+        lastTickStart = start;
+        TickEvent event = new TickEvent();
+        event.begin();
+
+        if (replay != null) replay.step();
+        else engine.step();
+        DirtyTiles dirty = engine.getDirtyTiles();
+        int dirtyTiles = dirty.isAll() ? -1 : dirty.size();
+        if (engine.isGameOver() || (replay != null && replay.isFinished())) {
+            gameOver();
+        } else {
+            repaintDirty();
+        }
+        TICK_TIMES.recordSince(start);
+        if (event.shouldCommit()) {
+            event.tick = engine.getTickCount();
+            event.ghosts = engine.getGhosts().size() + engine.getGhostStore().size();
+            event.dirtyTiles = dirtyTiles;
+            event.gameOver = engine.isGameOver();
+            event.commit();
+        }
+    }
+
+    /**
+     * @brief Schedules a repaint of the tiles the engine marked as changed, instead of the whole panel.
+     *
+     * Swing merges the requested regions of one component into their bounding box before painting, and
+     * paintComponent() only draws what intersects that box.
+     */
+    private void repaintDirty() {
+        DirtyTiles dirty = engine.getDirtyTiles();
+        if (dirty.isAll()) {
+            // calling repaint() will trigger paintComponent() to run again,
+            // which will refresh/redraw the graphics.
+            repaint();
+        } else {
+            int columns = engine.getColumns();
+            for (int i = 0; i < dirty.size(); i++) {
+                int cell = dirty.get(i);
+                repaint((cell % columns) * TILE_SIZE, (cell / columns) * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+            }
+            if (engine.getPlayer().getScore() != paintedScore) {
+                repaint(scoreArea());
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * @brief Overrides the paintComponent method of JPanel to customize the rendering of the game graphics.
+     *
+     * This method is responsible for painting the game components on the screen. It performs the following tasks:
+     *  - If the game is over, it draws the "Game Over" screen and returns.
+     *  - Calls the superclass's paintComponent method to perform default painting operations.
+     *  - Draws the background.
+     *  - Draws the score.
+     *  - Draws the coins.
+     *  - Draws the ghosts.
+     *  - Draws the player.
+     *  - Syncs the graphics to smooth out animations on some systems.
+     *
+     * Painting only reads the engine's state - all movement happens in actionPerformed().
+     * Only coins and entities inside the clip are drawn, as most frames repaint just a few tiles.
+     * The time spent is recorded in the "paint" histogram and as a Flight Recorder FrameRenderedEvent.
+     *
+     * @param g The Graphics object used for rendering.
+     */
+    @Override
+    public void paintComponent(Graphics g) {
+
+        if (is_gameOver && replay == null){
+            timer.stop();
+            drawGameOver(g, engine.getPlayer().getScore());
+            return;
+        }
+
+        long start = Metrics.now();
+        FrameRenderedEvent event = new FrameRenderedEvent();
+        event.begin();
+        super.paintComponent(g);
+        // when calling g.drawImage() we can use "this" for the ImageObserver
+        // because Component implements the ImageObserver interface, and JPanel
+        // extends from Component. So "this" Board instance, as a Component, can
+        // react to imageUpdate() events triggered by g.drawImage()
+
+        // draw our graphics.
+        Rectangle clip = g.getClipBounds();
+        drawBackground(g);
+        if (clip == null || clip.intersects(scoreArea())) drawScore(g);
+        int drawn = 0;
+        for (Coin coin : engine.getCoins()) {
+            if (isInClip(clip, coin.getPos())) {
+                coin.draw(g, this, TILE_SIZE);
+                ++drawn;
+            }
+        }
+        for (MovingEntity ghost : engine.getGhosts()){
+            if (isInClip(clip, ghost.getPos())) {
+                ghost.draw(g, this, TILE_SIZE);
+                ++drawn;
+            }
+        }
+        drawn += engine.getGhostStore().draw(g, this, TILE_SIZE, clip);
+        if (isInClip(clip, engine.getPlayer().getPos())) {
+            engine.getPlayer().draw(g, this, TILE_SIZE);
+            ++drawn;
+        }
+
+        // this smooths out animations on some systems
+        Toolkit.getDefaultToolkit().sync();
+        PAINT_TIMES.recordSince(start);
+        if (event.shouldCommit()) {
+            event.clipWidth = clip == null ? getWidth() : clip.width;
+            event.clipHeight = clip == null ? getHeight() : clip.height;
+            event.entitiesDrawn = drawn;
+            event.commit();
+        }
+    }
+
+
+
+    /**
+     * @brief handles keys typed - this mehtod is overriden only because we must implement
+     * all methods being part of the KeyListener interface
+     * @param e the event to be processed
+     */
+    @Override
+    public void keyTyped(KeyEvent e) {
+        // this is not used but must be defined as part of the KeyListener interface
+    }
+
+    /**
+     * @brief queues the direction of the pressed key, the engine applies it at the start of the next tick
+     * @param e the event to be processed
+     */
+    @Override
+    public void keyPressed(KeyEvent e) {
+        // react to key down events
+        if (replay != null) return;
+        engine.queueInput(Player.directionForKey(e.getKeyCode()));
+    }
+
+    /**
+     * @brief handles keys released - this mehtod is overriden only because we must implement
+     * all methods being part of the KeyListener interface
+     * @param e the event to be processed
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+        // react to key up events
+    }
+
+    /**
+     * @brief Draws the background of the game board.
+     *
+     * The walls and paths are rendered once into a cached image by BackgroundLayer, so a frame only copies it.
+     *
+     * @param g The Graphics object used for rendering.
+     */
+    private void drawBackground(Graphics g) {
+        background.draw(g, this);
+    }
+
+    /**
+     * @brief checks whether the tile at the given position overlaps the area being painted
+     * @param clip area being painted, null means everything
+     * @param tile position of the tile on the board grid
+     * @return whether anything drawn on the tile can be visible
+     */
+    private boolean isInClip(Rectangle clip, Point tile) {
+        return clip == null || clip.intersects(tile.x * TILE_SIZE, tile.y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+    }
+
+    /**
+     * @brief the text will be contained within this rectangle.
+     * here I've sized it to be the entire bottom row of board tiles
+     * @return area the score is drawn in
+     */
+    private Rectangle scoreArea() {
+        return new Rectangle(0, TILE_SIZE * (engine.getRows() - 1), TILE_SIZE * engine.getColumns(), TILE_SIZE);
+    }
+
+    /**
+     * @brief draws user score on the screen
+     * @param g The Graphics object used for rendering.
+     */
+    private void drawScore(Graphics g) {
+        // set the text to be displayed
+        paintedScore = engine.getPlayer().getScore();
+        String text = String.format("$%d", paintedScore);
+        // we need to cast the Graphics to Graphics2D to draw nicer text
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(
+                RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(
+                RenderingHints.KEY_RENDERING,
+                RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(
+                RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        // set the text color and font
+        g2d.setColor(new Color(30, 201, 139));
+        g2d.setFont(new Font("Lato", Font.BOLD, 25));
+        // draw the score in the bottom center of the screen
+        // https://stackoverflow.com/a/27740330/4655368
+        FontMetrics metrics = g2d.getFontMetrics(g2d.getFont());
+        Rectangle rect = scoreArea();
+        // determine the x coordinate for the text
+        int x = rect.x + (rect.width - metrics.stringWidth(text)) / 2;
+        // determine the y coordinate for the text
+        // (note we add the ascent, as in java 2d 0 is top of the screen)
+        int y = rect.y + ((rect.height - metrics.getHeight()) / 2) + metrics.getAscent();
+        // draw the string
+        g2d.drawString(text, x, y);
+    }
+
+    /**
+     * @breif draws the game over screen by destroying the current window and initialising the leaderboard
+     * @param g The Graphics object used for rendering.
+     * @param score player score
+     */
+    private void drawGameOver(Graphics g, int score) {
+        showLeaderboardForm(score);
+//        displayLeaderboard(g);
+        JFrame boardFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
+        boardFrame.dispose();
+        initLeaderboardWindow();
+    }
+
+    /**
+     * @brief renders a small form allowing the user to enter their username
+     *
+     * The name check and the write happen on the leaderboard's I/O thread, the dialog stays responsive meanwhile
+     * and closes once the score is saved.
+     *
+     * @param score user score
+     */
+    private void showLeaderboardForm(int score) {
+        JDialog dialog = new JDialog();
+        dialog.setTitle("Leaderboard");
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.setModal(true);
+
+        JTextField playerNameField = new JTextField();
+        JButton okButton = new JButton("OK");
+        okButton.addActionListener(e -> {
+            String playerName = playerNameField.getText();
+            if (!playerName.isEmpty()) {
+                // no second submission while this one is in flight
+                okButton.setEnabled(false);
+                LeaderboardService.getDefault().submitIfAbsent(playerName, score)
+                        .whenComplete((added, failure) -> SwingUtilities.invokeLater(() -> {
+                            if (failure != null) {
+                                failure.printStackTrace();
+                                dialog.dispose();
+                            } else if (!added) {
+                                JDialog error = new JDialog();
+                                // Player already exists in the leaderboard
+                                JOptionPane.showMessageDialog(error, "Username already exists. \n" +
+                                        "Please choose a different username.", "Leaderboard", JOptionPane.ERROR_MESSAGE);
+                                error.dispose();
+                                okButton.setEnabled(true);
+                            } else {
+                                dialog.dispose();
+                            }
+                        }));
+            }
+        });
+
+        JPanel contentPane = new JPanel();
+        contentPane.setLayout(new BorderLayout());
+        contentPane.add(new JLabel("Enter your name:"), BorderLayout.NORTH);
+        contentPane.add(playerNameField, BorderLayout.CENTER);
+        contentPane.add(okButton, BorderLayout.SOUTH);
+
+        dialog.setContentPane(contentPane);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true);
+    }
+
+    /**
+     *
+     * Leaderboard display is now handled by initLeaderboardWindow
+     */
+    private void displayLeaderboard(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(new Color(0, 0, 0));
+        g2d.fillRect(0, 0, TILE_SIZE * COLUMNS, TILE_SIZE * ROWS);
+        g2d.setColor(new Color(173, 33, 33));
+        g2d.setFont(new Font("Lato", Font.BOLD, 20));
+
+        try {
+            List<ScoreEntry> leaderboardLines = LeaderboardStore.getDefault().top(5);
+
+            int leaderboardSize = leaderboardLines.size();
+            int leaderboardHeight = leaderboardSize * TILE_SIZE;
+            int startY = (ROWS * TILE_SIZE - leaderboardHeight) / 2;
+
+            // Draw "GAME OVER" title
+            String gameOverText = "GAME OVER";
+            g2d.setFont(new Font("Lato", Font.BOLD, 40));
+            FontMetrics fontMetrics = g2d.getFontMetrics();
+            int gameOverWidth = fontMetrics.stringWidth(gameOverText);
+            int gameOverX = (COLUMNS * TILE_SIZE - gameOverWidth) / 2;
+            int gameOverY = startY - TILE_SIZE;
+            g2d.drawString(gameOverText, gameOverX, gameOverY);
+
+            // Draw leaderboard entries
+            g2d.setFont(new Font("Lato", Font.BOLD, 20));
+            int position = 1;
+            FontMetrics recordMetrics = g2d.getFontMetrics();
+            for (int i = 0; i < leaderboardSize; i++) {
+                ScoreEntry entry = leaderboardLines.get(i);
+                String record = String.format("%d. %s", position, entry);
+                int recordWidth = recordMetrics.stringWidth(record);
+                int recordX = (COLUMNS * TILE_SIZE) / 2 - (recordWidth / 2); //
+                // Calculate x-coordinate
+                int recordY = startY + (i + 1) * TILE_SIZE;
+                g2d.drawString(record, recordX, recordY);
+                position++;
+            }
+
+            // Add a button for starting again
+            JButton startAgainButton = new JButton("Start Again");
+//            startAgainButton.addActionListener(this);
+//            startAgainButton.setActionCommand("start_over");
+
+            startAgainButton.setForeground(new Color(173, 33, 33));
+            startAgainButton.setBackground(new Color(255, 255, 255));
+            startAgainButton.setFocusPainted(false);
+            startAgainButton.setFont(new Font("Lato", Font.BOLD, 16));
+            startAgainButton.setBorder(BorderFactory.createLineBorder(new Color(173, 33, 33), 2));
+            startAgainButton.setBounds((COLUMNS * TILE_SIZE - 120) / 2, startY + leaderboardHeight + 20, 120, 30);
+            //startAgainButton.addActionListener(e -> startGameAgain());
+            startAgainButton.setVisible(true);
+            add(startAgainButton);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    /**
+     * @breif signal that the game has finished and stop the timer
+     */
+    private void gameOver(){
+        timer.stop();
+        if (recorder != null) saveReplay();
+        is_gameOver = true;
+        repaint();
+    }
+
+    /**
+     * @brief saves the finished game to the file named by the pacman.replay property
+     */
+    private void saveReplay() {
+        String file = System.getProperty(REPLAY_PROPERTY, DEFAULT_REPLAY_FILE);
+        try {
+            recorder.toReplay().write(Paths.get(file));
+        } catch (IOException e) {
+            System.out.println("Error saving replay: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
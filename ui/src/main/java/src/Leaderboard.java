@@ -1,13 +1,13 @@
 package src;
 
+import src.Scores.LeaderboardService;
+import src.Scores.ScoreEntry;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyListener;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,9 +23,10 @@ public class Leaderboard extends JPanel implements ActionListener {
     private int startY;
     private int leaderboardHeight;
     private int leaderboardSize;
-    private List<String> leaderboardLines;
-
-    private final String leaderboardPath;
+    private List<ScoreEntry> leaderboardLines;
+    // whether the scores are still being read
+    private boolean loading;
+    private JButton startAgainButton;
 
     /**
      * @brief Constructs a Leaderboard object.
@@ -33,11 +34,10 @@ public class Leaderboard extends JPanel implements ActionListener {
     public Leaderboard(){
         setLayout(null);
 
-        leaderboardPath = "src/leaderboard.txt";
         setPreferredSize(new Dimension(Board.COLUMNS*Board.TILE_SIZE, Board.ROWS*Board.TILE_SIZE));
-        readLeaderboard();
+        layoutLeaderboard(new ArrayList<>());
 
-        JButton startAgainButton = new JButton("Play");
+        startAgainButton = new JButton("Play");
         startAgainButton.setActionCommand("play_again");
         startAgainButton.addActionListener(this);
 
@@ -46,38 +46,49 @@ public class Leaderboard extends JPanel implements ActionListener {
         startAgainButton.setFocusPainted(false);
         startAgainButton.setFont(new Font("Lato", Font.BOLD, 16));
         startAgainButton.setBorder(BorderFactory.createLineBorder(new Color(173, 33, 33), 2));
-        startAgainButton.setBounds((Board.COLUMNS * Board.TILE_SIZE - 120) / 2,
-                startY + leaderboardHeight + 20, 120, 30);
+        placeButton();
         startAgainButton.setVisible(true);
 
         add(startAgainButton);
+        readLeaderboard();
     }
 
     /**
-     * @brief Reads the leaderboard data from the file.
+     * @brief Requests the best scores from the leaderboard service, the panel is updated once they arrive.
      */
     private void readLeaderboard(){
-        try {
-            BufferedReader leaderboardReader = new BufferedReader(new FileReader(leaderboardPath));
-            leaderboardLines = new ArrayList<>();
-            String line;
-            while ((line = leaderboardReader.readLine()) != null) {
-                leaderboardLines.add(line);
-            }
-            leaderboardReader.close();
-
-            leaderboardLines.sort((s1, s2) -> {
-                int score1 = Integer.parseInt(s1.split(": ")[1]);
-                int score2 = Integer.parseInt(s2.split(": ")[1]);
-                return Integer.compare(score2, score1);
-            });
-
-            leaderboardSize = Math.min(5, leaderboardLines.size());
-            leaderboardHeight = leaderboardSize * Board.TILE_SIZE;
-            startY = (Board.ROWS * Board.TILE_SIZE - leaderboardHeight) / 2;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        loading = true;
+        LeaderboardService.getDefault().topN(5)
+                .whenComplete((lines, failure) -> SwingUtilities.invokeLater(() -> {
+                    loading = false;
+                    if (failure != null) {
+                        failure.printStackTrace();
+                    } else {
+                        layoutLeaderboard(lines);
+                        placeButton();
+                    }
+                    repaint();
+                }));
+    }
+
+    /**
+     * @brief Centers the list of scores vertically.
+     *
+     * @param lines the scores to show
+     */
+    private void layoutLeaderboard(List<ScoreEntry> lines){
+        leaderboardLines = lines;
+        leaderboardSize = leaderboardLines.size();
+        leaderboardHeight = leaderboardSize * Board.TILE_SIZE;
+        startY = (Board.ROWS * Board.TILE_SIZE - leaderboardHeight) / 2;
+    }
+
+    /**
+     * @brief Puts the button below the list of scores.
+     */
+    private void placeButton(){
+        startAgainButton.setBounds((Board.COLUMNS * Board.TILE_SIZE - 120) / 2,
+                startY + leaderboardHeight + 20, 120, 30);
     }
 
     /**
@@ -122,8 +133,13 @@ public class Leaderboard extends JPanel implements ActionListener {
         g2d.setFont(new Font("Lato", Font.BOLD, 20));
         int position = 1;
         FontMetrics recordMetrics = g2d.getFontMetrics();
+        if (loading) {
+            String loadingText = "Loading...";
+            int loadingX = (Board.COLUMNS * Board.TILE_SIZE - recordMetrics.stringWidth(loadingText)) / 2;
+            g2d.drawString(loadingText, loadingX, startY + Board.TILE_SIZE);
+        }
         for (int i = 0; i < leaderboardSize; i++) {
-            String entry = leaderboardLines.get(i);
+            ScoreEntry entry = leaderboardLines.get(i);
             String record = String.format("%d. %s", position, entry);
             int recordWidth = recordMetrics.stringWidth(record);
             int recordX = (Board.COLUMNS * Board.TILE_SIZE) / 2 - (recordWidth / 2); //